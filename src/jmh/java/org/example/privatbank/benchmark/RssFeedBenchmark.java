@@ -0,0 +1,85 @@
+package org.example.privatbank.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.sun.syndication.io.WireFeedOutput;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.service.RssFeedService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writing the RSS feed with the given number of items, through the ROME object model and
+ * {@link WireFeedOutput}, and through the streaming writer the endpoint uses.
+ * The output is discarded, so only generation and serialization are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RssFeedBenchmark {
+
+    /** Number of items in the feed */
+    @Param({"100", "10000", "100000"})
+    public int items;
+
+    /** The feed service, holding exactly the given number of items */
+    private RssFeedService rssFeedService;
+
+    /**
+     * Fills a feed with the given number of tasks.
+     */
+    @Setup
+    public void fill() {
+        // The feed logs every item; measure the feed, not the console
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+
+        rssFeedService = new RssFeedService(items);
+        Instant createdAt = Instant.parse("2024-10-01T09:00:00Z");
+        for (int i = 0; i < items; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription("Prepare the quarterly report for team " + (i % 50));
+            task.setCreatedAt(createdAt.plusSeconds(i));
+            rssFeedService.addTaskToFeed(task);
+        }
+    }
+
+    /**
+     * Builds the ROME channel and writes it with {@link WireFeedOutput}.
+     */
+    @Benchmark
+    public void romeWireFeedOutput() throws Exception {
+        Writer writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+        new WireFeedOutput().output(rssFeedService.generateFeed(), writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the same XML with the streaming writer.
+     */
+    @Benchmark
+    public void streamingWriter() throws IOException {
+        rssFeedService.writeFeed(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.privatbank.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks serializing a list of tasks, as the list endpoint does, in each supported format.
+ * The mappers are built like the ones of the message converters; the output is discarded.
+ * Before measuring, each format is checked to read back the same tasks, and its payload size is printed
+ * and checked to be smaller than the one of the previous format: JSON, then CBOR, then Smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    /** Number of tasks in the list */
+    @Param({"100", "10000"})
+    public int tasks;
+
+    /** Format of the output */
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    /** Mapper writing the format */
+    private ObjectMapper mapper;
+
+    /** The tasks to serialize */
+    private List<Task> list;
+
+    /**
+     * Creates the mapper and the tasks, and checks the payload of the format.
+     *
+     * @throws IOException if the tasks cannot be written or read
+     */
+    @Setup
+    public void setup() throws IOException {
+        mapper = mapper(format);
+
+        list = new ArrayList<>(tasks);
+        Instant createdAt = Instant.parse("2024-10-01T09:00:00Z");
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription("Prepare the quarterly report for team " + (i % 50));
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setCreatedAt(createdAt.plusSeconds(i));
+            task.setVersion(0L);
+            list.add(task);
+        }
+
+        byte[] payload = mapper.writeValueAsBytes(list);
+        if (!list.equals(mapper.readValue(payload, new TypeReference<List<Task>>() { }))) {
+            throw new IllegalStateException(format + " does not read back the same tasks");
+        }
+        System.out.printf("%d tasks as %s: %d bytes, %d gzipped%n", tasks, format, payload.length, gzip(payload).length);
+        int previous = switch (format) {
+            case "cbor" -> mapper("json").writeValueAsBytes(list).length;
+            case "smile" -> mapper("cbor").writeValueAsBytes(list).length;
+            default -> Integer.MAX_VALUE;
+        };
+        if (payload.length >= previous) {
+            throw new IllegalStateException(format + " is not smaller than the previous format: "
+                    + payload.length + " >= " + previous + " bytes");
+        }
+    }
+
+    /**
+     * Builds a mapper like the one of the message converter of a format.
+     *
+     * @param format json, cbor or smile
+     * @return the mapper
+     */
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compresses a payload with gzip, as the container does for large responses.
+     *
+     * @param payload the payload
+     * @return the compressed payload
+     * @throws IOException never, the streams are in memory
+     */
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Writes the list to a stream, as the message converters do.
+     */
+    @Benchmark
+    public void writeToStream() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), list);
+    }
+
+    /**
+     * Writes the list to a byte array.
+     */
+    @Benchmark
+    public byte[] writeToBytes() throws IOException {
+        return mapper.writeValueAsBytes(list);
+    }
+}
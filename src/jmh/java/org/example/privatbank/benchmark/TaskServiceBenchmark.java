@@ -0,0 +1,126 @@
+package org.example.privatbank.benchmark;
+
+import org.example.privatbank.TaskManagerApplication;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.service.TaskCache;
+import org.example.privatbank.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TaskService} against an in-memory H2 database, with the full application context
+ * (cache, RSS feed, search index, statistics and events) but without a web server.
+ * Each fork boots its own context and database, seeded with the given number of tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    /** Number of tasks in the database before the benchmark starts */
+    @Param({"100", "10000"})
+    public int tasks;
+
+    /** The running application */
+    private ConfigurableApplicationContext context;
+
+    /** The service under test */
+    private TaskService taskService;
+
+    /** The cache in front of the task list */
+    private TaskCache taskCache;
+
+    /** Sequence making the title of every created task unique */
+    private long created;
+
+    /**
+     * Boots the application on an in-memory database and seeds the tasks.
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments take precedence over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--reactive.datasource.url=r2dbc:h2:mem:///benchmark?options=DB_CLOSE_DELAY=-1",
+                        "--tasks.limit=" + Integer.MAX_VALUE,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.example=WARN");
+        taskService = context.getBean(TaskService.class);
+        taskCache = context.getBean(TaskCache.class);
+
+        // Seed in batches, as the batch endpoint would
+        List<TaskDTO> batch = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            batch.add(newTask("Seeded task " + i));
+            if (batch.size() == 1000 || i == tasks - 1) {
+                taskService.createTasks(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Creates one task: validation, quota, insert and the after-commit listeners.
+     */
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(newTask("Benchmark task " + created++));
+    }
+
+    /**
+     * Reads all tasks as served while nothing changes, from the cached list.
+     */
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    /**
+     * Reads all tasks from the database, as after a change invalidated the cached list.
+     */
+    @Benchmark
+    public List<Task> getAllTasksUncached() {
+        taskCache.invalidateAll();
+        return taskService.getAllTasks();
+    }
+
+    private static TaskDTO newTask(String title) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle(title);
+        taskDTO.setDescription("Prepare the quarterly report for the team");
+        taskDTO.setStatus("Pending");
+        return taskDTO;
+    }
+}
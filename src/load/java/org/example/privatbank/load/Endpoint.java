@@ -0,0 +1,32 @@
+package org.example.privatbank.load;
+
+import lombok.Getter;
+
+/**
+ * Endpoints driven by the load test, each with its option name and default arrival rate.
+ */
+@Getter
+public enum Endpoint {
+
+    CREATE("create", "POST /api/tasks", 20),
+    LIST("list", "GET /api/tasks", 10),
+    PATCH("patch", "PATCH /api/tasks/{id}", 20),
+    STATUS("status", "PUT /api/tasks/{id}/status", 20),
+    DELETE("delete", "DELETE /api/tasks/{id}", 20),
+    RSS("rss", "GET /api/tasks/rss", 10);
+
+    /** Name of the option setting the rate, e.g. --create=50 */
+    private final String option;
+
+    /** Method and path, as reported in the results */
+    private final String label;
+
+    /** Requests per second sent unless the option is given */
+    private final double defaultRate;
+
+    Endpoint(String option, String label, double defaultRate) {
+        this.option = option;
+        this.label = label;
+        this.defaultRate = defaultRate;
+    }
+}
@@ -0,0 +1,254 @@
+package org.example.privatbank.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Sends the requests of one endpoint at a fixed arrival rate and records their latencies.
+ * The load is open: a request is sent at its scheduled time whether or not earlier ones have completed,
+ * and its latency is taken from that scheduled time, so a stalled server or client is not hidden
+ * by requests that were sent late (coordinated omission). Requests still unanswered when the wait for
+ * responses ends are recorded with the highest latency as {@value #TIMEOUT} errors rather than dropped.
+ */
+final class EndpointLoad {
+
+    /** Highest latency the histogram tracks; longer ones are recorded as this value */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    /** Outcome of a measured request that was not answered in time */
+    private static final String TIMEOUT = "timeout";
+
+    /** The endpoint */
+    private final Endpoint endpoint;
+
+    /** Requests per second */
+    private final double rate;
+
+    /** Client sending the requests */
+    private final HttpClient client;
+
+    /** Creates the next request, or returns null if there is no task to send it for */
+    private final Function<Endpoint, HttpRequest> requests;
+
+    /** Receives every response, e.g. to learn the IDs of created tasks */
+    private final BiConsumer<Endpoint, HttpResponse<String>> responses;
+
+    /** Latencies of the measured requests, in microseconds */
+    private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+
+    /** Number of measured requests per status code, or per exception for failed requests */
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    /** Number of measured requests that were not sent because no task was available */
+    private final LongAdder skipped = new LongAdder();
+
+    /** Number of requests awaiting their response */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Measured requests awaiting their response; a flag is cleared by whoever records the request */
+    private final Set<AtomicBoolean> pending = ConcurrentHashMap.newKeySet();
+
+    /** Thread sending the requests */
+    private Thread dispatcher;
+
+    /**
+     * Creates the load of one endpoint.
+     *
+     * @param endpoint  the endpoint
+     * @param rate      the requests per second
+     * @param client    the client sending the requests
+     * @param requests  the factory of requests
+     * @param responses the receiver of responses
+     */
+    EndpointLoad(Endpoint endpoint, double rate, HttpClient client, Function<Endpoint, HttpRequest> requests,
+                 BiConsumer<Endpoint, HttpResponse<String>> responses) {
+        this.endpoint = endpoint;
+        this.rate = rate;
+        this.client = client;
+        this.requests = requests;
+        this.responses = responses;
+    }
+
+    /**
+     * Starts sending requests, from the start time until the end time.
+     * Requests scheduled before the measurement start warm the server up and are not recorded.
+     *
+     * @param startNanos        the time of the first request
+     * @param measureStartNanos the time from which requests are recorded
+     * @param endNanos          the time after which no request is sent
+     */
+    void start(long startNanos, long measureStartNanos, long endNanos) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        dispatcher = new Thread(() -> {
+            for (long scheduled = startNanos; scheduled < endNanos; scheduled += intervalNanos) {
+                // Wait for the scheduled time; when behind, send at once and let the latency show it
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                send(scheduled, scheduled >= measureStartNanos);
+            }
+        }, "load-" + endpoint.getOption());
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Waits until all requests were sent and answered, or the timeout passed.
+     * Measured requests still unanswered then are recorded as timeouts with the highest latency,
+     * so the slowest requests stay in the histogram; a response arriving later is ignored.
+     *
+     * @param timeoutNanos the maximum time to wait for responses after the last request was sent
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitCompletion(long timeoutNanos) throws InterruptedException {
+        dispatcher.join();
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        for (AtomicBoolean open : pending) {
+            if (open.compareAndSet(true, false)) {
+                record(MAX_LATENCY_MICROS, TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * Summarizes the measured requests.
+     *
+     * @param measuredSeconds the length of the measurement
+     * @return the results, with latencies in milliseconds
+     */
+    Map<String, Object> result(double measuredSeconds) {
+        Histogram latencies = histogram.copy();
+        Map<String, Long> byOutcome = new TreeMap<>();
+        long errors = 0;
+        for (Map.Entry<String, LongAdder> outcome : outcomes.entrySet()) {
+            long count = outcome.getValue().sum();
+            byOutcome.put(outcome.getKey(), count);
+            if (!outcome.getKey().startsWith("2")) {
+                errors += count;
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoint", endpoint.getLabel());
+        result.put("targetRate", rate);
+        result.put("count", latencies.getTotalCount());
+        result.put("throughput", latencies.getTotalCount() / measuredSeconds);
+        result.put("errors", errors);
+        result.put("skipped", skipped.sum());
+        result.put("outcomes", byOutcome);
+        result.put("p50", millis(latencies.getValueAtPercentile(50)));
+        result.put("p90", millis(latencies.getValueAtPercentile(90)));
+        result.put("p99", millis(latencies.getValueAtPercentile(99)));
+        result.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+        result.put("max", millis(latencies.getMaxValue()));
+        result.put("mean", latencies.getMean() / 1000);
+        // The full histogram, so runs can be merged or compared at any percentile later
+        ByteBuffer buffer = ByteBuffer.allocate(latencies.getNeededByteBufferCapacity());
+        latencies.encodeIntoCompressedByteBuffer(buffer);
+        buffer.flip();
+        byte[] encoded = new byte[buffer.remaining()];
+        buffer.get(encoded);
+        result.put("histogram", Base64.getEncoder().encodeToString(encoded));
+        return result;
+    }
+
+    /**
+     * Sends one request and records its outcome once the response arrives.
+     *
+     * @param scheduledNanos the time the request was scheduled for
+     * @param measured       whether the request is recorded
+     */
+    private void send(long scheduledNanos, boolean measured) {
+        HttpRequest request = requests.apply(endpoint);
+        if (request == null) {
+            if (measured) {
+                skipped.increment();
+            }
+            return;
+        }
+
+        // Only the ID of a created task is read; other bodies are discarded as they arrive
+        HttpResponse.BodyHandler<String> body = endpoint == Endpoint.CREATE
+                ? HttpResponse.BodyHandlers.ofString()
+                : HttpResponse.BodyHandlers.replacing(null);
+        AtomicBoolean open = new AtomicBoolean(measured);
+        if (measured) {
+            pending.add(open);
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, body).whenComplete((response, error) -> {
+            long latencyMicros = (System.nanoTime() - scheduledNanos) / 1000;
+            try {
+                if (response != null) {
+                    responses.accept(endpoint, response);
+                }
+                // Not recorded again if it was already recorded as a timeout
+                if (open.compareAndSet(true, false)) {
+                    record(latencyMicros, response != null
+                            ? Integer.toString(response.statusCode())
+                            : rootCause(error).getClass().getSimpleName());
+                }
+            } finally {
+                pending.remove(open);
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Records the latency and outcome of a measured request.
+     *
+     * @param latencyMicros the latency from the scheduled time, in microseconds
+     * @param outcome       the status code, the exception name, or {@link #TIMEOUT}
+     */
+    private void record(long latencyMicros, String outcome) {
+        histogram.recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Converts microseconds to milliseconds.
+     *
+     * @param micros the microseconds
+     * @return the milliseconds
+     */
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Returns the innermost cause of an error.
+     *
+     * @param error the error
+     * @return the root cause
+     */
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
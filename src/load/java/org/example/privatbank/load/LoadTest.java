@@ -0,0 +1,394 @@
+package org.example.privatbank.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.privatbank.TaskManagerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of the task API.
+ * Boots the application on a random port against an in-memory or file-based H2 database, seeds it with
+ * tasks and drives a mix of endpoints, each at its own fixed arrival rate. The latency percentiles of
+ * every endpoint are printed and written as JSON to a timestamped file, so runs can be compared.
+ *
+ * <p>Options, all in the form {@code --name=value}:
+ * <ul>
+ *     <li>{@code duration}, {@code warmup}: seconds measured, and seconds of load before that (60, 10)</li>
+ *     <li>{@code create}, {@code list}, {@code patch}, {@code status}, {@code delete}, {@code rss}:
+ *     requests per second of each endpoint, 0 to leave it out</li>
+ *     <li>{@code seed}: number of tasks created before the load starts (1000)</li>
+ *     <li>{@code db}: {@code mem}, or the path of a file database (mem)</li>
+ *     <li>{@code timeout}: seconds after which a request fails (30)</li>
+ *     <li>{@code out}: directory of the result files</li>
+ * </ul>
+ * Options with a dot in the name, such as {@code --spring.threads.virtual.enabled=true}, are passed
+ * to the application.
+ */
+public class LoadTest {
+
+    /** Number of tasks created per batch request while seeding */
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /** Options of the run, in the order given */
+    private final Map<String, String> options;
+
+    /** Requests per second of each endpoint */
+    private final Map<Endpoint, Double> rates = new EnumMap<>(Endpoint.class);
+
+    /** Client sending all requests */
+    private final HttpClient client;
+
+    /** Maps the JSON bodies and the result file */
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /** IDs of the tasks that exist, as far as the load test knows */
+    private final TaskIds taskIds = new TaskIds();
+
+    /** Sequence making titles unique */
+    private final AtomicLong titles = new AtomicLong();
+
+    /** Seconds after which a request fails */
+    private final int timeoutSeconds;
+
+    /** Base URI of the task API */
+    private String baseUri;
+
+    /**
+     * Creates a load test.
+     *
+     * @param options the options of the run
+     */
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        for (Endpoint endpoint : Endpoint.values()) {
+            rates.put(endpoint, Double.parseDouble(options.getOrDefault(endpoint.getOption(),
+                    Double.toString(endpoint.getDefaultRate()))));
+        }
+        this.timeoutSeconds = intOption("timeout", 30);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(timeoutSeconds))
+                .build();
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the options
+     * @throws Exception if the application cannot be started or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options have the form --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        new LoadTest(options).run();
+        System.exit(0);
+    }
+
+    /**
+     * Boots the application, seeds it, applies the load and writes the results.
+     *
+     * @throws Exception if the application cannot be started or the results cannot be written
+     */
+    private void run() throws Exception {
+        int durationSeconds = intOption("duration", 60);
+        int warmupSeconds = intOption("warmup", 10);
+
+        try (ConfigurableApplicationContext context = startApplication()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            baseUri = "http://localhost:" + port + "/api/tasks";
+            seed(intOption("seed", 1000));
+
+            // Start all endpoints together; requests of the warmup are sent but not recorded
+            List<EndpointLoad> loads = new ArrayList<>();
+            for (Map.Entry<Endpoint, Double> rate : rates.entrySet()) {
+                if (rate.getValue() > 0) {
+                    loads.add(new EndpointLoad(rate.getKey(), rate.getValue(), client, this::request, this::onResponse));
+                }
+            }
+            System.out.printf("Running %s for %d s after %d s of warmup%n", rates, durationSeconds, warmupSeconds);
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+            for (EndpointLoad load : loads) {
+                load.start(start, measureStart, end);
+            }
+            for (EndpointLoad load : loads) {
+                load.awaitCompletion(TimeUnit.SECONDS.toNanos(timeoutSeconds));
+            }
+
+            writeResults(loads, durationSeconds);
+        }
+    }
+
+    /**
+     * Starts the application on a random port.
+     *
+     * @return the application context
+     */
+    private ConfigurableApplicationContext startApplication() {
+        String db = options.getOrDefault("db", "mem");
+        String jdbcUrl;
+        String r2dbcUrl;
+        if (db.equals("mem")) {
+            jdbcUrl = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1";
+            r2dbcUrl = "r2dbc:h2:mem:///loadtest?options=DB_CLOSE_DELAY=-1";
+        } else {
+            String path = Path.of(db).toAbsolutePath().toString();
+            jdbcUrl = "jdbc:h2:file:" + path;
+            r2dbcUrl = "r2dbc:h2:file:///" + path;
+        }
+
+        // Arguments take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--reactive.server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--reactive.datasource.url=" + r2dbcUrl,
+                "--tasks.limit=" + Integer.MAX_VALUE,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.example=WARN"));
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(TaskManagerApplication.class).run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates tasks through the batch endpoint and remembers their IDs.
+     *
+     * @param count the number of tasks to create
+     * @throws IOException          if a request fails
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    private void seed(int count) throws IOException, InterruptedException {
+        for (int created = 0; created < count; created += SEED_BATCH_SIZE) {
+            List<Map<String, String>> batch = new ArrayList<>();
+            for (int i = created; i < Math.min(count, created + SEED_BATCH_SIZE); i++) {
+                batch.add(task("Pending"));
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUri + "/batch"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (result.hasNonNull("id")) {
+                    taskIds.add(result.get("id").asLong());
+                }
+            }
+        }
+        System.out.printf("Seeded %d tasks%n", taskIds.size());
+    }
+
+    /**
+     * Creates the next request of an endpoint.
+     *
+     * @param endpoint the endpoint
+     * @return the request, or null if the endpoint needs a task and none exists
+     */
+    private HttpRequest request(Endpoint endpoint) {
+        try {
+            HttpRequest.Builder request;
+            switch (endpoint) {
+                case CREATE -> request = HttpRequest.newBuilder(URI.create(baseUri))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(task("Pending"))));
+                case LIST -> request = HttpRequest.newBuilder(URI.create(baseUri)).GET();
+                case RSS -> request = HttpRequest.newBuilder(URI.create(baseUri + "/rss")).GET();
+                case PATCH -> {
+                    Long id = taskIds.random();
+                    if (id == null) {
+                        return null;
+                    }
+                    request = HttpRequest.newBuilder(URI.create(baseUri + "/" + id))
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                    objectMapper.writeValueAsString(task("In Progress"))));
+                }
+                case STATUS -> {
+                    Long id = taskIds.random();
+                    if (id == null) {
+                        return null;
+                    }
+                    request = HttpRequest.newBuilder(URI.create(baseUri + "/" + id + "/status?status=Completed"))
+                            .PUT(HttpRequest.BodyPublishers.noBody());
+                }
+                case DELETE -> {
+                    Long id = taskIds.removeRandom();
+                    if (id == null) {
+                        return null;
+                    }
+                    request = HttpRequest.newBuilder(URI.create(baseUri + "/" + id)).DELETE();
+                }
+                default -> throw new IllegalStateException("Unknown endpoint " + endpoint);
+            }
+            return request.timeout(Duration.ofSeconds(timeoutSeconds)).build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write request body", e);
+        }
+    }
+
+    /**
+     * Remembers the ID of every created task, so later requests can address it.
+     *
+     * @param endpoint the endpoint that answered
+     * @param response the response
+     */
+    private void onResponse(Endpoint endpoint, HttpResponse<String> response) {
+        if (endpoint == Endpoint.CREATE && response.statusCode() == 200) {
+            try {
+                taskIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected response to task creation", e);
+            }
+        }
+    }
+
+    /**
+     * Creates the body of a new or updated task with a unique title.
+     *
+     * @param status the status of the task
+     * @return the task fields
+     */
+    private Map<String, String> task(String status) {
+        Map<String, String> task = new LinkedHashMap<>();
+        task.put("title", "Load task " + titles.incrementAndGet());
+        task.put("description", "Created by the load test");
+        task.put("status", status);
+        return task;
+    }
+
+    /**
+     * Prints the results and writes them to a timestamped JSON file.
+     *
+     * @param loads           the loads of all endpoints
+     * @param durationSeconds the seconds measured
+     * @throws IOException if the file cannot be written
+     */
+    private void writeResults(List<EndpointLoad> loads, int durationSeconds) throws IOException {
+        Instant finishedAt = Instant.now();
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("finishedAt", finishedAt.toString());
+        results.put("options", options);
+        results.put("rates", rates);
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        results.put("latencyUnit", "ms");
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-28s %8s %8s %8s %10s %10s %10s %10s%n",
+                "Endpoint", "Count", "Req/s", "Errors", "p50 ms", "p99 ms", "p999 ms", "Max ms");
+        for (EndpointLoad load : loads) {
+            Map<String, Object> result = load.result(durationSeconds);
+            endpoints.put((String) result.get("endpoint"), result);
+            System.out.printf("%-28s %8d %8.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    result.get("endpoint"), result.get("count"), result.get("throughput"), result.get("errors"),
+                    result.get("p50"), result.get("p99"), result.get("p999"), result.get("max"));
+        }
+        results.put("endpoints", endpoints);
+
+        Path directory = Path.of(options.getOrDefault("out", "target/load-test"));
+        Files.createDirectories(directory);
+        String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(finishedAt);
+        Path file = directory.resolve("load-test-" + timestamp + ".json");
+        objectMapper.writeValue(file.toFile(), results);
+        System.out.println("Results written to " + file);
+    }
+
+    /**
+     * Reads an integer option.
+     *
+     * @param name         the name of the option
+     * @param defaultValue the value if the option is not given
+     * @return the value
+     */
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * IDs of existing tasks, with constant-time random picks and removals.
+     */
+    private static final class TaskIds {
+
+        /** The IDs, in no particular order */
+        private final List<Long> ids = new ArrayList<>();
+
+        /**
+         * Adds the ID of a created task.
+         *
+         * @param id the ID
+         */
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        /**
+         * Picks a random ID.
+         *
+         * @return the ID, or null if there is none
+         */
+        synchronized Long random() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        /**
+         * Removes a random ID, so no other request addresses the task.
+         *
+         * @return the ID, or null if there is none
+         */
+        synchronized Long removeRandom() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            // Move the last ID into the gap
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        /**
+         * Returns the number of IDs.
+         *
+         * @return the number of IDs
+         */
+        synchronized int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the sequence used to generate task IDs in blocks, which allows JDBC batch inserts.
+ * The sequence starts above the highest existing ID. Hibernate's pooled optimizer treats each
+ * sequence value as the upper end of a block of {@value #ALLOCATION_SIZE} IDs.
+ */
+public class V3__create_tasks_sequence extends BaseJavaMigration {
+
+    /** Number of IDs allocated per sequence call, must match the entity mapping */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId = 0;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM TASKS")) {
+                if (resultSet.next()) {
+                    maxId = resultSet.getLong(1);
+                }
+            }
+            statement.execute("CREATE SEQUENCE TASKS_SEQ START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
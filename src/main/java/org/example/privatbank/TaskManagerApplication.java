@@ -3,9 +3,11 @@ package org.example.privatbank;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
-@SpringBootApplication
+// The reactive API works without R2DBC transactions; a second transaction manager would displace the JPA one
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @EntityScan("org.example.privatbank.model")
 @EnableTransactionManagement
 public class TaskManagerApplication {
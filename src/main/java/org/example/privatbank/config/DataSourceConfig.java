@@ -1,15 +1,18 @@
 package org.example.privatbank.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-
-import javax.sql.DataSource;
 
 /**
  * Configuration class for setting up the application's data source.
- * Attempts to connect to H2 database first; if it fails, switches to PostgreSQL.
+ * Uses the H2 database first; if it fails, switches to PostgreSQL, and back once H2 recovers.
  */
 @Slf4j
 @Configuration
@@ -51,54 +54,96 @@ public class DataSourceConfig {
     @Value("${backup.datasource.password}")
     private String postgresPassword;
 
+    // Pool and failover properties
+
+    /** Maximum number of connections in each pool */
+    @Value("${datasource.pool.maximum-size:10}")
+    private int poolMaximumSize;
+
+    /** Minimum number of idle connections kept in the active pool */
+    @Value("${datasource.pool.minimum-idle:2}")
+    private int poolMinimumIdle;
+
+    /** Maximum time in milliseconds to wait for a pooled connection */
+    @Value("${datasource.pool.acquire-timeout-ms:3000}")
+    private long poolAcquireTimeoutMs;
+
+    /** Delay in milliseconds between two health probes */
+    @Value("${datasource.failover.probe-interval-ms:5000}")
+    private long probeIntervalMs;
+
+    /** Timeout in seconds used to open and validate a probe connection */
+    @Value("${datasource.failover.probe-timeout-seconds:2}")
+    private int probeTimeoutSeconds;
+
+    /** Consecutive failed probes before switching to PostgreSQL */
+    @Value("${datasource.failover.failure-threshold:3}")
+    private int failureThreshold;
+
+    /** Consecutive successful probes before switching back to H2 */
+    @Value("${datasource.failover.recovery-threshold:3}")
+    private int recoveryThreshold;
+
     /**
      * Configures and returns the DataSource bean.
-     * Tries to connect to the H2 database first; if it fails, switches to PostgreSQL.
+     * Builds a bounded connection pool for H2 and for PostgreSQL and routes traffic between them,
+     * preferring H2 and failing over to PostgreSQL at runtime when the health probes detect an outage.
+     * Connections are handed out through a semaphore sized to the pools, in front of the pools' own wait.
      *
+     * @param meterRegistry registry receiving the pool metrics, if available
      * @return DataSource the configured data source
      */
     @Bean
-    public DataSource dataSource() {
-        try {
-            // Create a new DataSource for H2
-            DriverManagerDataSource dataSource = new DriverManagerDataSource();
-            // Set the driver class name for H2
-            dataSource.setDriverClassName(h2DriverClassName);
-            // Set the URL for H2
-            dataSource.setUrl(h2Url);
-            // Set the username for H2
-            dataSource.setUsername(h2Username);
-            // Set the password for H2
-            dataSource.setPassword(h2Password);
-
-            // Try to establish a connection to H2
-            dataSource.getConnection().close();
-
-            // Log a successful connection to H2
-            log.info("Connected to H2 database.");
-
-            // Return the configured H2 DataSource
-            return dataSource;
-        } catch (Exception e) {
-            // Log the failure to connect to H2 and fallback to PostgreSQL
-            log.error("Failed to connect to H2. Switching to PostgreSQL.", e);
-
-            // Create a new DataSource for PostgreSQL
-            DriverManagerDataSource dataSource = new DriverManagerDataSource();
-            // Set the driver class name for PostgreSQL
-            dataSource.setDriverClassName(postgresDriverClassName);
-            // Set the URL for PostgreSQL
-            dataSource.setUrl(postgresUrl);
-            // Set the username for PostgreSQL
-            dataSource.setUsername(postgresUsername);
-            // Set the password for PostgreSQL
-            dataSource.setPassword(postgresPassword);
-
-            // Log the switch to PostgreSQL
-            log.info("Connected to PostgreSQL database.");
-
-            // Return the configured PostgreSQL DataSource
-            return dataSource;
-        }
+    public FailoverRoutingDataSource dataSource(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Create one pool per backend
+        HikariDataSource h2Pool = createPool("h2-pool", h2DriverClassName, h2Url, h2Username, h2Password);
+        HikariDataSource postgresPool = createPool("postgres-pool",
+                postgresDriverClassName, postgresUrl, postgresUsername, postgresPassword);
+
+        // Publish pool wait time, usage and active connections
+        meterRegistry.ifAvailable(registry -> {
+            MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(registry);
+            h2Pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            postgresPool.setMetricsTrackerFactory(metricsTrackerFactory);
+        });
+
+        FailoverRoutingDataSource dataSource = new FailoverRoutingDataSource(h2Pool, postgresPool,
+                failureThreshold, recoveryThreshold, probeTimeoutSeconds);
+        dataSource.startHealthProbes(probeIntervalMs);
+        dataSource.limitConnections(poolMaximumSize, poolAcquireTimeoutMs);
+
+        // Publish which backend is currently active (0 = H2, 1 = PostgreSQL)
+        meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.failover.active", dataSource,
+                        ds -> ds.getActiveTarget().ordinal())
+                .description("Active backend: 0 = H2, 1 = PostgreSQL")
+                .register(registry));
+
+        return dataSource;
+    }
+
+    /**
+     * Creates a bounded connection pool that starts even when its database is not reachable.
+     *
+     * @param poolName        the name of the pool, used as metric tag
+     * @param driverClassName the JDBC driver class name
+     * @param url             the JDBC URL
+     * @param username        the database username
+     * @param password        the database password
+     * @return the configured pool
+     */
+    private HikariDataSource createPool(String poolName, String driverClassName, String url,
+                                        String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(driverClassName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolMaximumSize);
+        config.setMinimumIdle(Math.min(poolMinimumIdle, poolMaximumSize));
+        config.setConnectionTimeout(poolAcquireTimeoutMs);
+        // Do not fail at startup if the database is down, the health probes take care of it
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
     }
 }
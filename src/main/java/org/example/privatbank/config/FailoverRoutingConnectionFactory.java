@@ -0,0 +1,74 @@
+package org.example.privatbank.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Routing R2DBC connection factory that follows the failover decisions of the JDBC
+ * {@link FailoverRoutingDataSource}, so the reactive API always talks to the same database as the blocking one.
+ * The health probes of the data source decide which of the two pooled backends is used.
+ */
+@Slf4j
+public class FailoverRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements AutoCloseable {
+
+    /** Pool of the primary database */
+    private final ConnectionPool primary;
+
+    /** Pool of the backup database */
+    private final ConnectionPool backup;
+
+    /** Data source whose active backend is followed */
+    private final FailoverRoutingDataSource dataSource;
+
+    /**
+     * Creates the routing connection factory.
+     *
+     * @param primary    pool of the primary database
+     * @param backup     pool of the backup database
+     * @param dataSource the data source whose active backend is followed
+     */
+    public FailoverRoutingConnectionFactory(ConnectionPool primary, ConnectionPool backup,
+                                            FailoverRoutingDataSource dataSource) {
+        this.primary = primary;
+        this.backup = backup;
+        this.dataSource = dataSource;
+        setTargetConnectionFactories(Map.of(
+                FailoverRoutingDataSource.Target.PRIMARY, primary,
+                FailoverRoutingDataSource.Target.BACKUP, backup));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the backend currently receiving traffic.
+     *
+     * @return the active backend
+     */
+    public FailoverRoutingDataSource.Target getActiveTarget() {
+        return dataSource.getActiveTarget();
+    }
+
+    /**
+     * Looks up the active backend for every connection request.
+     *
+     * @return the lookup key of the active backend
+     */
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.fromSupplier(dataSource::getActiveTarget);
+    }
+
+    /**
+     * Closes both pools.
+     */
+    @Override
+    public void close() {
+        log.info("Closing R2DBC connection pools");
+        primary.dispose();
+        backup.dispose();
+    }
+}
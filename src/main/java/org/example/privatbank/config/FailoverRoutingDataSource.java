@@ -0,0 +1,337 @@
+package org.example.privatbank.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Routing data source that sends every connection request to one of two pooled backends.
+ * A background probe checks the primary (H2) pool periodically; after a configurable number
+ * of consecutive failures the traffic is switched to the backup (PostgreSQL) pool, and after a
+ * configurable number of consecutive successes it is switched back.
+ * <p>
+ * The probes open a connection of their own rather than borrowing one from the pool, so a pool
+ * exhausted by load is not mistaken for a database that is down.
+ * <p>
+ * Optionally, connections are handed out through a semaphore with one permit per pooled connection
+ * (see {@link #limitConnections(int, long)}), so callers wait in front of the pool rather than inside it,
+ * where HikariCP hands a returned connection to a waiting borrower by looping on {@code Thread.yield()}.
+ * The semaphore is not fair: a caller arriving while a permit is free takes it at once. Serving the oldest
+ * waiter first made every caller after a burst wait almost the whole timeout.
+ * <p>
+ * Note that Hibernate resolves its dialect once at startup, so queries must stay portable
+ * between both backends.
+ */
+@Slf4j
+public class FailoverRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /** Lookup keys of the routed backends */
+    public enum Target {
+        PRIMARY, BACKUP
+    }
+
+    /** Pool of the primary database */
+    private final HikariDataSource primary;
+
+    /** Pool of the backup database */
+    private final HikariDataSource backup;
+
+    /** Consecutive failed probes of the primary before switching to the backup */
+    private final int failureThreshold;
+
+    /** Consecutive successful probes of the primary before switching back to it */
+    private final int recoveryThreshold;
+
+    /** Timeout in seconds used to open and validate a probe connection */
+    private final int probeTimeoutSeconds;
+
+    /** Minimum idle connections kept warm in the active pool */
+    private final int minimumIdle;
+
+    /** Single daemon thread running the health probes */
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "datasource-health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Prepares a backend (e.g. migrates its schema) before it receives traffic */
+    private volatile Consumer<HikariDataSource> activationCallback = pool -> { };
+
+    /** The backend currently receiving traffic */
+    private volatile Target active;
+
+    /** Permits of the connections handed out, or null when the pool alone limits them */
+    private volatile Semaphore connectionPermits;
+
+    /** Maximum time in milliseconds to wait for a connection permit */
+    private volatile long permitTimeoutMillis;
+
+    /** Number of consecutive failed probes of the primary */
+    private int primaryFailures;
+
+    /** Number of consecutive successful probes of the primary */
+    private int primarySuccesses;
+
+    /**
+     * Creates the routing data source and selects the initial backend.
+     * The primary is used if it answers a probe right away, otherwise the backup.
+     *
+     * @param primary             pool of the primary database
+     * @param backup              pool of the backup database
+     * @param failureThreshold    consecutive failures before failing over
+     * @param recoveryThreshold   consecutive successes before failing back
+     * @param probeTimeoutSeconds timeout used to validate a probed connection
+     */
+    public FailoverRoutingDataSource(HikariDataSource primary, HikariDataSource backup,
+                                     int failureThreshold, int recoveryThreshold, int probeTimeoutSeconds) {
+        this.primary = primary;
+        this.backup = backup;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.recoveryThreshold = Math.max(1, recoveryThreshold);
+        this.probeTimeoutSeconds = probeTimeoutSeconds;
+        this.minimumIdle = primary.getMinimumIdle();
+
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.BACKUP, backup));
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        if (isHealthy(primary)) {
+            log.info("Connected to H2 database.");
+            switchTo(Target.PRIMARY);
+        } else {
+            log.error("Failed to connect to H2. Switching to PostgreSQL.");
+            switchTo(Target.BACKUP);
+        }
+    }
+
+    /**
+     * Starts the periodic health probes.
+     *
+     * @param intervalMillis delay between two probes in milliseconds
+     */
+    public void startHealthProbes(long intervalMillis) {
+        prober.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Data source health probes started every {} ms", intervalMillis);
+    }
+
+    /**
+     * Sets the callback that prepares a backend before traffic is switched to it.
+     * If the callback throws, the switch is not performed.
+     *
+     * @param activationCallback the callback receiving the pool about to be activated
+     */
+    public void setActivationCallback(Consumer<HikariDataSource> activationCallback) {
+        this.activationCallback = activationCallback;
+    }
+
+    /**
+     * Hands out at most the given number of connections at once.
+     * A caller that gets no permit within the timeout fails like one that gets no pooled connection.
+     *
+     * @param permits       the number of connections handed out at once, the size of each pool
+     * @param timeoutMillis the maximum time to wait for a connection
+     */
+    public void limitConnections(int permits, long timeoutMillis) {
+        this.permitTimeoutMillis = timeoutMillis;
+        this.connectionPermits = new Semaphore(permits);
+    }
+
+    /**
+     * Returns a connection of the active backend, after waiting for a permit if connections are limited.
+     *
+     * @return the connection
+     * @throws SQLException if no connection is available in time
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore permits = connectionPermits;
+        if (permits == null) {
+            return super.getConnection();
+        }
+        acquire(permits);
+        try {
+            return releasingOnClose(super.getConnection(), permits);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Probes the primary database once and switches the active backend when a threshold is reached.
+     */
+    public synchronized void checkHealth() {
+        if (isHealthy(primary)) {
+            primaryFailures = 0;
+            primarySuccesses++;
+            if (active == Target.BACKUP && primarySuccesses >= recoveryThreshold) {
+                log.info("H2 database recovered after {} successful probes. Switching back from PostgreSQL.",
+                        primarySuccesses);
+                activate(Target.PRIMARY);
+            }
+        } else {
+            primarySuccesses = 0;
+            primaryFailures++;
+            log.warn("H2 health probe failed ({} consecutive)", primaryFailures);
+            if (active == Target.PRIMARY && primaryFailures >= failureThreshold) {
+                if (isHealthy(backup)) {
+                    log.error("H2 database failed {} probes. Switching to PostgreSQL.", primaryFailures);
+                    activate(Target.BACKUP);
+                } else {
+                    log.error("H2 database failed {} probes but PostgreSQL is unavailable too", primaryFailures);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the backend currently receiving traffic.
+     *
+     * @return the active target
+     */
+    public Target getActiveTarget() {
+        return active;
+    }
+
+    /**
+     * Returns the pool of the given backend.
+     *
+     * @param target the backend
+     * @return the pool serving that backend
+     */
+    public HikariDataSource getPool(Target target) {
+        return target == Target.PRIMARY ? primary : backup;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return active;
+    }
+
+    /**
+     * Stops the health probes and closes both pools.
+     */
+    @Override
+    public void close() {
+        prober.shutdownNow();
+        primary.close();
+        backup.close();
+    }
+
+    /**
+     * Prepares the given backend through the activation callback and routes traffic to it.
+     *
+     * @param target the backend to activate
+     */
+    private void activate(Target target) {
+        try {
+            activationCallback.accept(getPool(target));
+        } catch (Exception e) {
+            log.error("Failed to prepare pool {}, keeping pool {}", getPool(target).getPoolName(),
+                    getPool(active).getPoolName(), e);
+            return;
+        }
+        switchTo(target);
+    }
+
+    /**
+     * Routes traffic to the given backend and keeps only its pool warm.
+     *
+     * @param target the backend to activate
+     */
+    private void switchTo(Target target) {
+        getPool(target).getHikariConfigMXBean().setMinimumIdle(minimumIdle);
+        getPool(target == Target.PRIMARY ? Target.BACKUP : Target.PRIMARY).getHikariConfigMXBean().setMinimumIdle(0);
+        active = target;
+    }
+
+    /**
+     * Waits for a connection permit.
+     *
+     * @param permits the connection permits
+     * @throws SQLException if no permit is free within the timeout or the thread is interrupted
+     */
+    private void acquire(Semaphore permits) throws SQLException {
+        try {
+            if (!permits.tryAcquire(permitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Connection is not available, request timed out after " + permitTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it returns its permit, once.
+     *
+     * @param connection the pooled connection
+     * @param permits    the connection permits
+     * @return the wrapped connection
+     */
+    private static Connection releasingOnClose(Connection connection, Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * Checks whether the database of a pool accepts a new connection and answers on it.
+     * The connection is opened through the driver, outside the pool, and closed right away.
+     *
+     * @param pool the pool whose database is probed
+     * @return true if the database answered, false otherwise
+     */
+    private boolean isHealthy(HikariDataSource pool) {
+        Properties properties = new Properties();
+        properties.putAll(pool.getDataSourceProperties());
+        properties.setProperty("user", pool.getUsername());
+        properties.setProperty("password", pool.getPassword() == null ? "" : pool.getPassword());
+        // Bounds the connect of drivers that support it (PostgreSQL); H2 ignores these settings
+        properties.setProperty("connectTimeout", String.valueOf(probeTimeoutSeconds));
+        properties.setProperty("loginTimeout", String.valueOf(probeTimeoutSeconds));
+        try (Connection connection = DriverManager.getDriver(pool.getJdbcUrl()).connect(pool.getJdbcUrl(), properties)) {
+            return connection != null && connection.isValid(probeTimeoutSeconds);
+        } catch (Exception e) {
+            log.debug("Health probe of pool {} failed", pool.getPoolName(), e);
+            return false;
+        }
+    }
+}
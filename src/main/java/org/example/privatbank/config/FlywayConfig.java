@@ -0,0 +1,40 @@
+package org.example.privatbank.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the database schema migrations.
+ * Migrates the active backend at startup and any other backend before the failover switches to it.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Configures the migration strategy used by Flyway.
+     *
+     * @param dataSource the routing data source
+     * @return FlywayMigrationStrategy the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(FailoverRoutingDataSource dataSource) {
+        return flyway -> {
+            // Migrate a backend with the same configuration before it receives traffic
+            dataSource.setActivationCallback(pool -> {
+                log.info("Migrating schema of pool {} before activating it", pool.getPoolName());
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(pool)
+                        .load()
+                        .migrate();
+            });
+
+            // Migrate the backend that is active at startup
+            flyway.migrate();
+        };
+    }
+}
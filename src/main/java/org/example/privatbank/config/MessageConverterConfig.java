@@ -0,0 +1,42 @@
+package org.example.privatbank.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration of the binary representations of the REST API.
+ * Next to JSON, request and response bodies can be CBOR ({@code application/cbor}) or Smile
+ * ({@code application/x-jackson-smile}), selected by the Content-Type and Accept headers. JSON stays
+ * the default. The converters are built from the builder Spring Boot configures for JSON, so all three
+ * formats carry the same fields with the same names and date handling.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * Creates the CBOR converter, which takes the place of the default one.
+     *
+     * @param builder the object mapper builder configured from the spring.jackson properties
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter, which takes the place of the default one.
+     *
+     * @param builder the object mapper builder configured from the spring.jackson properties
+     * @return the Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
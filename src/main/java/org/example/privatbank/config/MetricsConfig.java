@@ -0,0 +1,71 @@
+package org.example.privatbank.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.privatbank.service.TaskService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Configuration of the application metrics published next to the HTTP, JVM and connection pool
+ * metrics of Spring Boot: the time spent in transactional {@link TaskService} methods ({@code task.service}) and
+ * in JDBC statements ({@code sql.statements}). All meters are registered once and reused on every call.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Name of the service method timers */
+    static final String TASK_SERVICE = "task.service";
+
+    /**
+     * Times the transactional methods of the task service. The advisor runs outside the transaction advisor,
+     * so the time includes the commit and its listeners. These calls already pass through the transaction
+     * interceptor and take at least one round trip to the database, so the timer adds nothing measurable.
+     * The other methods are answered from memory in well under a microsecond, where timing each call would
+     * cost more than the call; they are covered by the HTTP timers, the cache metrics and, on a cache miss,
+     * the SQL statement timers.
+     *
+     * @param meterRegistry the registry receiving the timers, if available
+     * @return the advisor applied to the task service
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor taskServiceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() == TaskService.class && Modifier.isPublic(method.getModifiers())
+                        && AnnotatedElementUtils.hasAnnotation(method, Transactional.class);
+            }
+        };
+        pointcut.setClassFilter(new RootClassFilter(TaskService.class));
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new ServiceTimingInterceptor(TASK_SERVICE, meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Binds the timers of the Hibernate statement listener to the registry.
+     *
+     * @return the binder of the SQL statement timers
+     */
+    @Bean
+    public MeterBinder sqlStatementMetrics() {
+        return SqlStatementMetrics::bindTo;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.privatbank.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the R2DBC connections used by the reactive task API.
+ * Mirrors {@link DataSourceConfig}: one bounded pool for H2 and one for PostgreSQL, routed to whichever
+ * database the JDBC failover currently uses. No R2DBC transaction manager is registered, so the JPA
+ * transaction manager stays the only one and {@code @Transactional} keeps resolving to it; reactive
+ * transactions go through {@link #reactiveTransactionalOperator} instead.
+ */
+@Slf4j
+@Configuration
+public class ReactiveDataSourceConfig {
+
+    /** The R2DBC URL for the H2 database */
+    @Value("${reactive.datasource.url}")
+    private String h2Url;
+
+    /** The username for the H2 database */
+    @Value("${spring.datasource.username}")
+    private String h2Username;
+
+    /** The password for the H2 database */
+    @Value("${spring.datasource.password}")
+    private String h2Password;
+
+    /** The R2DBC URL for the PostgreSQL database */
+    @Value("${reactive.backup-datasource.url}")
+    private String postgresUrl;
+
+    /** The username for the PostgreSQL database */
+    @Value("${backup.datasource.username}")
+    private String postgresUsername;
+
+    /** The password for the PostgreSQL database */
+    @Value("${backup.datasource.password}")
+    private String postgresPassword;
+
+    /** Maximum number of connections in each pool */
+    @Value("${datasource.pool.maximum-size:10}")
+    private int poolMaximumSize;
+
+    /** Maximum time in milliseconds to wait for a pooled connection */
+    @Value("${datasource.pool.acquire-timeout-ms:3000}")
+    private long poolAcquireTimeoutMs;
+
+    /**
+     * Configures the R2DBC connection factory, routing to the database the JDBC data source is using.
+     * The pools are hidden behind the routing factory, so their gauges ({@code r2dbc.pool.*}) are bound
+     * here rather than by Spring Boot.
+     *
+     * @param dataSource    the JDBC data source whose failover decisions are followed
+     * @param meterRegistry the registry receiving the pool gauges, if available
+     * @return the routing connection factory
+     */
+    @Bean
+    public FailoverRoutingConnectionFactory connectionFactory(FailoverRoutingDataSource dataSource,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        ConnectionPool h2Pool = createPool("h2-r2dbc-pool", h2Url, h2Username, h2Password);
+        ConnectionPool postgresPool = createPool("postgres-r2dbc-pool", postgresUrl, postgresUsername, postgresPassword);
+        meterRegistry.ifAvailable(registry -> {
+            new ConnectionPoolMetrics(h2Pool, "h2-r2dbc-pool", Tags.empty()).bindTo(registry);
+            new ConnectionPoolMetrics(postgresPool, "postgres-r2dbc-pool", Tags.empty()).bindTo(registry);
+        });
+        return new FailoverRoutingConnectionFactory(h2Pool, postgresPool, dataSource);
+    }
+
+    /**
+     * Configures the client used by the reactive repository.
+     * Named parameters are rendered as {@code $1, $2, ...}, which both drivers understand, since the
+     * routing connection factory cannot tell the dialect before a connection is requested.
+     *
+     * @param connectionFactory the routing connection factory
+     * @return the database client
+     */
+    @Bean
+    public DatabaseClient databaseClient(FailoverRoutingConnectionFactory connectionFactory) {
+        return DatabaseClient.builder()
+                .connectionFactory(connectionFactory)
+                .bindMarkers(BindMarkersFactory.indexed("$", 1))
+                .build();
+    }
+
+    /**
+     * Configures the transactions of the reactive repository.
+     * The R2DBC transaction manager stays private to this operator rather than being a bean of its own.
+     *
+     * @param connectionFactory the routing connection factory
+     * @return the operator running a publisher in one R2DBC transaction
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(FailoverRoutingConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Configures the scheduler running H2 statements.
+     * The H2 driver executes statements on the subscribing thread, so they are moved off the event loop;
+     * no more threads than pooled connections are needed.
+     *
+     * @return the scheduler for blocking database calls
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler databaseScheduler() {
+        return Schedulers.newBoundedElastic(poolMaximumSize, Integer.MAX_VALUE, "r2dbc-h2");
+    }
+
+    /**
+     * Creates a bounded connection pool that opens no connection before it is first used,
+     * so the application starts even when its database is not reachable.
+     *
+     * @param poolName the name of the pool
+     * @param url      the R2DBC URL
+     * @param username the database username
+     * @param password the database password
+     * @return the configured pool
+     */
+    private ConnectionPool createPool(String poolName, String url, String username, String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name(poolName)
+                .initialSize(0)
+                .maxSize(poolMaximumSize)
+                .maxAcquireTime(Duration.ofMillis(poolAcquireTimeoutMs))
+                .build();
+        log.info("Created R2DBC pool {} for {}", poolName, url);
+        return new ConnectionPool(configuration);
+    }
+}
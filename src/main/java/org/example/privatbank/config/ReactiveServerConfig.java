@@ -0,0 +1,93 @@
+package org.example.privatbank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.controller.ReactiveTaskHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Configuration of the Netty server running the reactive task API next to the servlet container.
+ * Netty serves many concurrent, slow clients with a handful of event loop threads; the server is only
+ * started together with the servlet container, so tests with a mock servlet environment bind no port.
+ */
+@Slf4j
+@Configuration
+public class ReactiveServerConfig {
+
+    /** Handler of the reactive task API */
+    @Autowired
+    private ReactiveTaskHandler reactiveTaskHandler;
+
+    /** Object mapper shared with the MVC endpoints, so both APIs write tasks the same way */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Port of the reactive task API */
+    @Value("${reactive.server.port:8081}")
+    private int port;
+
+    /** The running Netty server, or null if it was not started */
+    private WebServer webServer;
+
+    /**
+     * Starts the Netty server once the servlet container is up.
+     *
+     * @param event the servlet container initialization event
+     */
+    @EventListener
+    public synchronized void start(ServletWebServerInitializedEvent event) {
+        if (webServer != null) {
+            return;
+        }
+        webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler());
+        webServer.start();
+        log.info("Reactive task API listening on port {} at {}", webServer.getPort(), ReactiveTaskHandler.BASE_PATH);
+    }
+
+    /**
+     * Returns the port the reactive task API listens on.
+     *
+     * @return the port, or -1 if the server is not running
+     */
+    public synchronized int getPort() {
+        return webServer == null ? -1 : webServer.getPort();
+    }
+
+    /**
+     * Stops the Netty server.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (webServer != null) {
+            webServer.stop();
+            webServer = null;
+        }
+    }
+
+    /**
+     * Builds the HTTP handler of the reactive task API, with codecs using the application's object mapper.
+     *
+     * @return the HTTP handler
+     */
+    public HttpHandler httpHandler() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return RouterFunctions.toHttpHandler(reactiveTaskHandler.routes(), strategies);
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.privatbank.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the calls of service methods, tagged with the method name and whether the call succeeded.
+ * The timers of a method are registered on its first call and then reused, so a call costs two
+ * clock reads, a map lookup and the timer update.
+ */
+class ServiceTimingInterceptor implements MethodInterceptor {
+
+    /** Index of the timer of calls that returned */
+    private static final int SUCCESS = 0;
+
+    /** Index of the timer of calls that threw */
+    private static final int ERROR = 1;
+
+    /** Name of the timers */
+    private final String name;
+
+    /** Provider of the registry, resolved on the first call rather than while the proxies are created */
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    /** Timers of each method, by outcome */
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /** The registry, or null until it is resolved */
+    private volatile MeterRegistry meterRegistry;
+
+    /** Whether no registry is available, so calls are not timed */
+    private volatile boolean disabled;
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param name                  the name of the timers
+     * @param meterRegistryProvider the provider of the registry receiving the timers
+     */
+    ServiceTimingInterceptor(String name, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.name = name;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    /**
+     * Calls the method and records how long it took.
+     *
+     * @param invocation the method call
+     * @return the result of the method
+     * @throws Throwable anything the method throws
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] methodTimers = timers(invocation.getMethod());
+        if (methodTimers == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        int outcome = ERROR;
+        try {
+            Object result = invocation.proceed();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            methodTimers[outcome].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns the timers of a method, registering them on its first call.
+     *
+     * @param method the method
+     * @return the timers by outcome, or null if no registry is available
+     */
+    private Timer[] timers(Method method) {
+        Timer[] methodTimers = timers.get(method);
+        if (methodTimers != null || disabled) {
+            return methodTimers;
+        }
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable();
+            if (registry == null) {
+                disabled = true;
+                return null;
+            }
+            meterRegistry = registry;
+        }
+        MeterRegistry target = registry;
+        return timers.computeIfAbsent(method, key -> new Timer[]{
+                timer(target, key, "success"),
+                timer(target, key, "error")});
+    }
+
+    /**
+     * Registers the timer of a method and outcome.
+     *
+     * @param registry the registry
+     * @param method   the method
+     * @param outcome  the outcome tag
+     * @return the timer
+     */
+    private Timer timer(MeterRegistry registry, Method method, String outcome) {
+        return Timer.builder(name)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .description("Time spent in " + method.getDeclaringClass().getSimpleName() + " methods")
+                .register(registry);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.privatbank.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate session listener timing every JDBC statement and batch, as {@code sql.statements}
+ * tagged {@code kind=statement} or {@code kind=batch}; the count of a timer is the number of executions.
+ * Hibernate creates one listener per session from {@code hibernate.session.events.auto}, so the timers
+ * are shared through static handles, bound once by {@link MetricsConfig}. Until then nothing is recorded.
+ */
+public class SqlStatementMetrics implements SessionEventListener {
+
+    /** Name of the timers */
+    static final String STATEMENTS = "sql.statements";
+
+    /** Timer of single statements, or null while unbound */
+    private static volatile Timer statementTimer;
+
+    /** Timer of batch executions, or null while unbound */
+    private static volatile Timer batchTimer;
+
+    /** Start of the running statement */
+    private long statementStart;
+
+    /** Start of the running batch */
+    private long batchStart;
+
+    /**
+     * Registers the timers. The timers of the last registry bound are used by all sessions.
+     *
+     * @param meterRegistry the registry receiving the timers
+     */
+    static void bindTo(MeterRegistry meterRegistry) {
+        statementTimer = Timer.builder(STATEMENTS).tag("kind", "statement")
+                .description("Execution time of JDBC statements").register(meterRegistry);
+        batchTimer = Timer.builder(STATEMENTS).tag("kind", "batch")
+                .description("Execution time of JDBC statements").register(meterRegistry);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementTimer, statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchTimer, batchStart);
+    }
+
+    /**
+     * Records an execution, if the timers are bound.
+     *
+     * @param timer the timer
+     * @param start the start of the execution, from {@link System#nanoTime()}
+     */
+    private static void record(Timer timer, long start) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
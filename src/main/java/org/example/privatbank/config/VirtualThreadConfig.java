@@ -0,0 +1,67 @@
+package org.example.privatbank.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the opt-in virtual thread mode.
+ * With {@code spring.threads.virtual.enabled=true} on Java 21 or later, Spring Boot runs Tomcat request
+ * handling, and with it every service and repository call, on virtual threads. Older JDKs ignore the
+ * property, so the effective mode is logged at startup.
+ * <p>
+ * Virtual threads remove the limit of 200 request threads, but not the one of the connection pool. In this mode
+ * open-in-view is off ({@link VirtualThreadEnvironmentPostProcessor}), so a connection is held only for its
+ * transaction; in both modes the requests beyond the pool size wait on the connection semaphore of
+ * {@link FailoverRoutingDataSource}.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    /** Property requesting virtual threads */
+    static final String VIRTUAL_THREADS_ENABLED = "spring.threads.virtual.enabled";
+
+    /** First Java release with virtual threads */
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    /** Whether virtual threads were requested */
+    @Value("${" + VIRTUAL_THREADS_ENABLED + ":false}")
+    private boolean virtualThreadsEnabled;
+
+    /** Maximum size of each connection pool, which bounds concurrent database work in both modes */
+    @Value("${datasource.pool.maximum-size:10}")
+    private int maximumPoolSize;
+
+    /** Whether a request keeps its connection until the response is written */
+    @Value("${" + VirtualThreadEnvironmentPostProcessor.OPEN_IN_VIEW + ":true}")
+    private boolean openInView;
+
+    /**
+     * Tells whether requests actually run on virtual threads: they were requested and the JDK has them.
+     *
+     * @param requested the value of {@code spring.threads.virtual.enabled}
+     * @return true in virtual thread mode
+     */
+    static boolean runsOnVirtualThreads(boolean requested) {
+        return requested && Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+
+    /**
+     * Logs the thread model requests are served on.
+     */
+    @PostConstruct
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsEnabled) {
+            log.info("Serving requests on platform threads");
+        } else if (javaVersion < VIRTUAL_THREADS_JAVA_VERSION) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "serving requests on platform threads", javaVersion);
+        } else {
+            log.info("Serving requests on virtual threads; at most {} run database work at once, "
+                    + "the others wait for a connection; open-in-view is {}", maximumPoolSize, openInView ? "on" : "off");
+        }
+    }
+}
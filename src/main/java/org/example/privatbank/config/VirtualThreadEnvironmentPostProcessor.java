@@ -0,0 +1,36 @@
+package org.example.privatbank.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns off open-in-view when requests are served on virtual threads.
+ * With open-in-view, a request keeps the connection of its first query until its response is written,
+ * so a handful of requests serializing their responses hold the whole pool while every other virtual thread
+ * waits. Without it, a connection returns to the pool when its transaction ends. An explicit
+ * {@code spring.jpa.open-in-view} setting is kept.
+ */
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /** Property switching open-in-view */
+    static final String OPEN_IN_VIEW = "spring.jpa.open-in-view";
+
+    /**
+     * Adds {@code spring.jpa.open-in-view=false} as default in virtual thread mode.
+     *
+     * @param environment the environment
+     * @param application the application
+     */
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        boolean requested = environment.getProperty(VirtualThreadConfig.VIRTUAL_THREADS_ENABLED, Boolean.class, false);
+        if (VirtualThreadConfig.runsOnVirtualThreads(requested) && !environment.containsProperty(OPEN_IN_VIEW)) {
+            environment.getPropertySources().addLast(
+                    new MapPropertySource("virtualThreadDefaults", Map.of(OPEN_IN_VIEW, false)));
+        }
+    }
+}
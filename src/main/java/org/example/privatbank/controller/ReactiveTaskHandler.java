@@ -0,0 +1,167 @@
+package org.example.privatbank.controller;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.service.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handler of the non-blocking task API served by WebFlux under {@code /api/reactive/tasks}.
+ * Requests and responses match the corresponding endpoints of {@link TaskController}.
+ */
+@Slf4j
+@Component
+public class ReactiveTaskHandler {
+
+    /** Base path of the reactive task API */
+    public static final String BASE_PATH = "/api/reactive/tasks";
+
+    /** Service for handling task operations */
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    /** Validator applied to created tasks */
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Builds the routes of the reactive task API.
+     *
+     * @return the routes
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path(BASE_PATH, builder -> builder
+                        .POST(this::createTask)
+                        .GET(this::getAllTasks)
+                        .PUT("/{id}/status", this::updateTaskStatus)
+                        .DELETE("/{id}", this::deleteTask))
+                .build();
+    }
+
+    /**
+     * Creates a new task.
+     *
+     * @param request the request carrying the task data transfer object
+     * @return the created task, or the field errors if the task is invalid
+     */
+    public Mono<ServerResponse> createTask(ServerRequest request) {
+        return request.bodyToMono(TaskDTO.class)
+                .flatMap(taskDTO -> {
+                    Map<String, String> errors = validate(taskDTO);
+                    if (!errors.isEmpty()) {
+                        log.debug("Rejecting invalid task: {}", errors);
+                        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON).bodyValue(errors);
+                    }
+                    return reactiveTaskService.createTask(taskDTO)
+                            .flatMap(task -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(task));
+                })
+                .switchIfEmpty(Mono.defer(() -> badRequest("Task is mandatory")))
+                .onErrorResume(RuntimeException.class, e -> badRequest(e.getMessage()));
+    }
+
+    /**
+     * Streams all tasks, as a JSON array or as newline-delimited JSON if requested.
+     * Rows are read from the database only as fast as the client receives them.
+     *
+     * @param request the request
+     * @return the streamed tasks
+     */
+    public Mono<ServerResponse> getAllTasks(ServerRequest request) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(reactiveTaskService.getAllTasks(), Task.class);
+    }
+
+    /**
+     * Updates the status of a task.
+     *
+     * @param request the request with the task ID and the {@code status} parameter
+     * @return the updated task
+     */
+    public Mono<ServerResponse> updateTaskStatus(ServerRequest request) {
+        Long id = parseId(request);
+        String status = request.queryParam("status").orElse(null);
+        if (id == null) {
+            return badRequest("Invalid task ID");
+        }
+        if (status == null) {
+            return badRequest("Status is mandatory");
+        }
+        return reactiveTaskService.updateTaskStatus(id, status)
+                .flatMap(task -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(task))
+                .onErrorResume(RuntimeException.class, e -> badRequest(e.getMessage()));
+    }
+
+    /**
+     * Deletes a task by its ID.
+     *
+     * @param request the request with the task ID
+     * @return a confirmation, or not found if the task does not exist
+     */
+    public Mono<ServerResponse> deleteTask(ServerRequest request) {
+        Long id = parseId(request);
+        if (id == null) {
+            return badRequest("Invalid task ID");
+        }
+        return reactiveTaskService.deleteTask(id)
+                .then(ServerResponse.ok().bodyValue("{\"message\": \"Task deleted successfully\"}"))
+                .onErrorResume(RuntimeException.class, e -> ServerResponse.status(HttpStatus.NOT_FOUND)
+                        .bodyValue("{\"message\": \"Task not found\"}"));
+    }
+
+    /**
+     * Validates a task data transfer object, collecting the errors per field like the MVC validation.
+     *
+     * @param taskDTO the task data transfer object
+     * @return the error message of each invalid field
+     */
+    private Map<String, String> validate(TaskDTO taskDTO) {
+        Map<String, String> errors = new HashMap<>();
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        for (ConstraintViolation<TaskDTO> violation : violations) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Reads the task ID from the path.
+     *
+     * @param request the request
+     * @return the task ID, or null if it is not a number
+     */
+    private Long parseId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a bad request response with a message, like the global exception handler.
+     *
+     * @param message the message
+     * @return the response
+     */
+    private Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().contentType(MediaType.TEXT_PLAIN).bodyValue(message);
+    }
+}
@@ -1,22 +1,48 @@
 package org.example.privatbank.controller;
 
-import com.sun.syndication.feed.rss.Channel;
-import com.sun.syndication.io.WireFeedOutput;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.dto.BulkOperationResultDTO;
+import org.example.privatbank.dto.BulkStatusUpdateDTO;
+import org.example.privatbank.dto.SerializedFeedDTO;
+import org.example.privatbank.dto.TaskBatchResultDTO;
 import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.dto.TaskImportResultDTO;
+import org.example.privatbank.dto.TaskStatsDTO;
+import org.example.privatbank.exception.PreconditionFailedException;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
 import org.example.privatbank.service.RssFeedService;
+import org.example.privatbank.service.TaskEventHub;
+import org.example.privatbank.service.TaskImportService;
 import org.example.privatbank.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * REST controller for managing tasks.
@@ -35,6 +61,34 @@ public class TaskController {
     @Autowired
     private RssFeedService rssFeedService;
 
+    /** Hub pushing task changes to event stream subscribers */
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    /** Service importing tasks from newline-delimited JSON */
+    @Autowired
+    private TaskImportService taskImportService;
+
+    /** Object mapper used to write streamed tasks */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Default page size when only a cursor is given */
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+
+    /** Maximum number of tasks in one page; larger limits are cut to it */
+    @Value("${tasks.page.max-limit:1000}")
+    private int maxPageLimit = 1000;
+
+    /** Default number of search results */
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /** Message of a conditional write whose If-Match does not match the task */
+    private static final String PRECONDITION_FAILED_MESSAGE = "Task does not match the given ETag";
+
+    /** Start of the list ETags; data versions restart with the application, so each run uses its own prefix */
+    private final String listEtagPrefix = Long.toString(System.currentTimeMillis(), 36);
+
     /**
      * Creates a new task.
      *
@@ -49,13 +103,34 @@ public class TaskController {
         try {
             Task createdTask = taskService.createTask(taskDTO);
             log.info("Task created successfully: {}", createdTask);
-            return ResponseEntity.ok(createdTask);
+            return okWithEtag(createdTask);
         } catch (Exception e) {
             log.error("Error occurred while creating task: {}", taskDTO, e);
             throw e;
         }
     }
 
+    /**
+     * Creates many tasks in one request.
+     * Invalid tasks and duplicate titles are rejected individually; the others are created together.
+     *
+     * @param taskDTOs the task data transfer objects
+     * @return ResponseEntity containing the outcome of each task, in request order
+     */
+    @Operation(summary = "Create tasks in bulk", description = "Create many tasks in one transaction and report the outcome of each")
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        log.debug("Creating a batch of {} tasks", taskDTOs.size());
+        try {
+            List<TaskBatchResultDTO> results = taskService.createTasks(taskDTOs);
+            log.info("Batch of {} tasks processed", results.size());
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            log.error("Error occurred while creating a batch of {} tasks", taskDTOs.size(), e);
+            throw e;
+        }
+    }
+
     /**
      * Deletes a task by its ID.
      *
@@ -76,44 +151,114 @@ public class TaskController {
         }
     }
 
+    /**
+     * Deletes many tasks at once, selected either by their IDs or by their status.
+     *
+     * @param ids    the IDs of the tasks to delete (optional)
+     * @param status the status of the tasks to delete (optional)
+     * @return ResponseEntity containing the number of deleted tasks
+     */
+    @Operation(summary = "Delete many tasks", description = "Delete the tasks with the given IDs, or all tasks in a status")
+    @DeleteMapping
+    public ResponseEntity<BulkOperationResultDTO> deleteTasks(@RequestParam(required = false) List<Long> ids,
+                                                              @RequestParam(required = false) String status) {
+        log.debug("Request received to delete tasks with IDs {} or status {}", ids, status);
+        try {
+            int deleted = taskService.deleteTasks(ids, status);
+            log.info("Deleted {} tasks", deleted);
+            return ResponseEntity.ok(new BulkOperationResultDTO(deleted));
+        } catch (Exception e) {
+            log.error("Error occurred while deleting tasks with IDs {} or status {}", ids, status, e);
+            throw e;
+        }
+    }
+
     /**
      * Updates the status of a task.
+     * With If-Match the update is applied only while the task still has the version of the given ETag,
+     * checked by the UPDATE statement itself; otherwise the response is 412 Precondition Failed.
      *
-     * @param id     the ID of the task
-     * @param status the new status
-     * @return the updated task
+     * @param id      the ID of the task
+     * @param status  the new status
+     * @param ifMatch the If-Match header of the request (optional)
+     * @return ResponseEntity containing the updated task
      */
-    @Operation(summary = "Update task status", description = "Update the status of a task")
+    @Operation(summary = "Update task status", description = "Update the status of a task, optionally only if it matches If-Match")
     @PutMapping("/{id}/status")
-    public Task updateTaskStatus(@PathVariable Long id, @RequestParam String status) {
+    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestParam String status,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Log the status update
         log.debug("Updating status of task with ID: {} to {}", id, status);
         try {
-            Task updatedTask = taskService.updateTaskStatus(id, status);
+            Task updatedTask = ifMatch == null
+                    ? taskService.updateTaskStatus(id, status)
+                    : taskService.updateTaskStatus(id, status, expectedVersion(id, ifMatch));
             log.info("Task with ID {} updated to status {}", id, status);
-            return updatedTask;
+            return okWithEtag(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Task with ID {} does not match {}", id, ifMatch);
+            throw ifMatch != null ? new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE) : e;
         } catch (Exception e) {
             log.error("Error occurred while updating status of task with ID: {}", id, e);
             throw e;
         }
     }
 
+    /**
+     * Moves many tasks to a new status at once.
+     * The tasks are selected either by their IDs or by their current status.
+     *
+     * @param update the selection of tasks and the new status
+     * @return ResponseEntity containing the number of updated tasks
+     */
+    @Operation(summary = "Update status of many tasks",
+            description = "Move the tasks with the given IDs, or all tasks in a status, to a new status")
+    @PutMapping("/status")
+    public ResponseEntity<BulkOperationResultDTO> updateTasksStatus(@Valid @RequestBody BulkStatusUpdateDTO update) {
+        log.debug("Updating status of many tasks: {}", update);
+        try {
+            int updated = taskService.updateTasksStatus(update);
+            log.info("Status of {} tasks updated to {}", updated, update.getStatus());
+            return ResponseEntity.ok(new BulkOperationResultDTO(updated));
+        } catch (Exception e) {
+            log.error("Error occurred while updating status of many tasks: {}", update, e);
+            throw e;
+        }
+    }
+
     /**
      * Updates specific fields of a task.
+     * The version of an If-Match ETag is checked like a version in the body, but a mismatch
+     * is answered with 412 Precondition Failed instead of 409 Conflict.
      *
      * @param id      the ID of the task
      * @param taskDTO the task data transfer object with updated fields
+     * @param ifMatch the If-Match header of the request (optional)
      * @return ResponseEntity containing the updated task
      */
-    @Operation(summary = "Update task fields", description = "Update specific fields of a task")
+    @Operation(summary = "Update task fields", description = "Update specific fields of a task, optionally only if it matches If-Match")
     @PatchMapping("/{id}")
-    public ResponseEntity<Task> updateTaskFields(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO) {
+    public ResponseEntity<Task> updateTaskFields(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Log the field update
         log.debug("Updating fields of task with ID: {}", id);
         try {
+            if (ifMatch != null) {
+                // The ETag becomes the expected version of the update
+                Long expectedVersion = expectedVersion(id, ifMatch);
+                if (expectedVersion != null) {
+                    if (taskDTO.getVersion() != null && !taskDTO.getVersion().equals(expectedVersion)) {
+                        throw new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE);
+                    }
+                    taskDTO.setVersion(expectedVersion);
+                }
+            }
             Task updatedTask = taskService.updateTaskFields(id, taskDTO);
             log.info("Task with ID {} updated with new fields", id);
-            return ResponseEntity.ok(updatedTask);
+            return okWithEtag(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Task with ID {} does not match version {} or {}", id, taskDTO.getVersion(), ifMatch);
+            throw ifMatch != null ? new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE) : e;
         } catch (Exception e) {
             log.error("Error occurred while updating fields of task with ID: {}", id, e);
             throw e;
@@ -121,44 +266,328 @@ public class TaskController {
     }
 
     /**
-     * Retrieves all tasks.
+     * Retrieves a task by its ID.
+     * The response carries the version of the task as ETag, marked with the representation for CBOR
+     * and Smile, see {@link TaskEtagAdvice}; a request with a matching If-None-Match is answered with
+     * 304 Not Modified without writing the body.
      *
-     * @return List of all tasks
+     * @param id the ID of the task
+     * @return ResponseEntity containing the task
      */
-    @Operation(summary = "Get list of tasks", description = "Retrieve a list of all tasks")
+    @Operation(summary = "Get a task", description = "Retrieve a task by its ID")
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getTask(@PathVariable Long id) {
+        log.debug("Retrieving task with ID: {}", id);
+
+        Optional<Task> task = taskService.findTask(id);
+        if (task.isEmpty()) {
+            log.error("Task with ID {} not found", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("{\"message\": \"Task not found\"}");
+        }
+        return okWithEtag(task.get());
+    }
+
+    /**
+     * Retrieves all tasks, or one page of tasks when a cursor or limit is given, optionally only those
+     * with a given status. Pages are ordered by ID; when more tasks follow, the response carries a
+     * {@code Link} header with {@code rel="next"} pointing to the next page. Limits above the configured
+     * maximum are cut to it, and the next link carries the limit actually applied.
+     * The weak ETag is derived from the data version, so If-None-Match is answered with 304 Not Modified
+     * before any task is read or serialized as long as no task has changed. A strong ETag would also
+     * keep the container from compressing the list.
+     *
+     * @param after      the ID of the last task of the previous page (optional)
+     * @param limit      the maximum number of tasks in the page, at least 1 (optional)
+     * @param status     the status of the tasks to return (optional)
+     * @param webRequest the current request, checked against the ETag
+     * @return List of tasks
+     */
+    @Operation(summary = "Get list of tasks",
+            description = "Retrieve a list of all tasks, or a page of tasks with ?after=<id>&limit=<n>;"
+                    + " ?status=<status> returns only the tasks with that status")
     @GetMapping
-    public List<Task> getAllTasks() {
-        // Log retrieval of tasks
-        log.debug("Retrieving all tasks");
+    public ResponseEntity<List<Task>> getAllTasks(@RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String status,
+                                                  WebRequest webRequest) {
+        if (limit != null && limit < 1) {
+            throw new RuntimeException("Limit must be at least 1");
+        }
+
+        // Take the version before reading, so the ETag is never newer than the tasks it describes
+        // The ETag is weak: it names the data, which is sent as JSON, CBOR or Smile and may be compressed
+        String etag = "W/\"" + listEtagPrefix + "-" + taskService.getDataVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Tasks not modified since {}", etag);
+            return null;
+        }
+
+        if (after == null && limit == null) {
+            // Log retrieval of tasks
+            log.debug("Retrieving all tasks with status {}", status);
+            try {
+                List<Task> tasks = status == null ? taskService.getAllTasks() : taskService.getTasksByStatus(status);
+                log.info("Retrieved {} tasks", tasks.size());
+                return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(tasks);
+            } catch (Exception e) {
+                log.error("Error occurred while retrieving tasks", e);
+                throw e;
+            }
+        }
+
+        // The size actually served, used both to tell whether more tasks follow and in the next link
+        int pageSize = Math.min(limit == null ? DEFAULT_PAGE_LIMIT : limit, maxPageLimit);
+        log.debug("Retrieving page of tasks after ID {} with limit {}", after, pageSize);
         try {
-            List<Task> tasks = taskService.getAllTasks();
-            log.info("Retrieved {} tasks", tasks.size());
-            return tasks;
+            List<Task> tasks = taskService.getTasksPage(after, pageSize, status);
+            log.info("Retrieved page of {} tasks", tasks.size());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT);
+            if (!tasks.isEmpty() && tasks.size() >= pageSize) {
+                // More tasks may follow, link to the next page
+                String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("after", tasks.get(tasks.size() - 1).getId())
+                        .replaceQueryParam("limit", pageSize)
+                        .toUriString();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(tasks);
         } catch (Exception e) {
-            log.error("Error occurred while retrieving tasks", e);
+            log.error("Error occurred while retrieving page of tasks after ID {}", after, e);
             throw e;
         }
     }
 
     /**
-     * Generates and returns the RSS feed of tasks.
+     * Searches tasks by keywords in their title and description.
+     * All words must match, either exactly or, from two characters on, as the start of a word.
+     * Tasks are ranked by how rare and how frequent the matched words are, title words counting double.
+     *
+     * @param q     the words to search for
+     * @param limit the maximum number of tasks (optional)
+     * @return ResponseEntity containing the matching tasks, best first
+     */
+    @Operation(summary = "Search tasks", description = "Search tasks by keywords in their title and description")
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(@RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) Integer limit) {
+        log.debug("Searching tasks for '{}'", q);
+
+        List<Task> tasks = taskService.searchTasks(q, limit == null ? DEFAULT_SEARCH_LIMIT : limit);
+        log.info("Search for '{}' returned {} tasks", q, tasks.size());
+        return ResponseEntity.ok(tasks);
+    }
+
+    /**
+     * Retrieves the number of tasks in total and per status.
+     * The counts are kept in memory and updated with every change, so no task is read.
+     *
+     * @return ResponseEntity containing the task statistics
+     */
+    @Operation(summary = "Get task statistics", description = "Retrieve the number of tasks in total and per status")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats() {
+        log.debug("Retrieving task statistics");
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<TaskStatus, Long> entry : taskService.getStatusCounts().entrySet()) {
+            byStatus.put(entry.getKey().getLabel(), entry.getValue());
+            total += entry.getValue();
+        }
+        return ResponseEntity.ok(new TaskStatsDTO(total, byStatus));
+    }
+
+    /**
+     * Streams all tasks as newline-delimited JSON, one task per line.
+     * Tasks are read through a database cursor and written as they arrive, so memory use stays flat.
      *
-     * @return String representation of the RSS feed in XML format
+     * @return the streaming response body
+     */
+    @Operation(summary = "Stream all tasks", description = "Stream all tasks as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        log.debug("Streaming all tasks as NDJSON");
+        return streamTasks(Task.class, task -> task);
+    }
+
+    /**
+     * Exports all tasks as newline-delimited JSON in the format read by the import: title, description
+     * and status, without the ID, version and creation time that belong to this database.
+     * Tasks are read through a database cursor and written as they arrive, so memory use stays flat.
+     *
+     * @return the streaming response body
+     */
+    @Operation(summary = "Export tasks", description = "Export all tasks as newline-delimited JSON for the import")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        log.debug("Exporting all tasks as NDJSON");
+        return streamTasks(TaskDTO.class, task -> {
+            TaskDTO record = new TaskDTO();
+            record.setTitle(task.getTitle());
+            record.setDescription(task.getDescription());
+            record.setStatus(task.getStatus().getLabel());
+            return record;
+        });
+    }
+
+    /**
+     * Imports tasks from newline-delimited JSON, one task per line, as written by the export.
+     * The body is read line by line and the tasks are created in transactional chunks with batch inserts,
+     * so memory use stays flat. Rejected lines are reported with their line number.
+     *
+     * @param body the request body
+     * @return ResponseEntity containing the numbers of imported and rejected tasks
+     * @throws IOException if the body cannot be read
+     */
+    @Operation(summary = "Import tasks", description = "Create tasks from newline-delimited JSON, one task per line")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<TaskImportResultDTO> importTasks(InputStream body) throws IOException {
+        log.debug("Importing tasks from NDJSON");
+
+        TaskImportResultDTO result = taskImportService.importTasks(body);
+        log.info("Imported {} tasks, rejected {} lines", result.getImported(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Writes all tasks as newline-delimited JSON while they are read through a database cursor.
+     *
+     * @param recordType the type of the records written
+     * @param toRecord   converts a task to its record
+     * @param <T>        the type of the records written
+     * @return the streaming response
+     */
+    private <T> ResponseEntity<StreamingResponseBody> streamTasks(Class<T> recordType, Function<Task, T> toRecord) {
+        ObjectWriter writer = objectMapper.writerFor(recordType)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                // Lines are separated by the newline only, not by the default space between root values
+                generator.setRootValueSeparator(null);
+                taskService.streamAllTasks(task -> {
+                    try {
+                        writer.writeValue(generator, toRecord.apply(task));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (Exception e) {
+                log.error("Error occurred while streaming tasks", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of committed task changes.
+     * Clients reconnecting with Last-Event-ID first receive the events they missed, or a
+     * {@code reset} event if those are no longer kept and the client has to reload its state.
+     *
+     * @param lastEventId the ID of the last event the client received (optional)
+     * @return the event stream
+     */
+    @Operation(summary = "Stream task changes", description = "Push create, update, status and delete events")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Opening task event stream after {}", lastEventId);
+        return taskEventHub.subscribe(lastEventId);
+    }
+
+    /**
+     * Returns the RSS feed of tasks.
+     * The feed is served from its cached serialized form with a strong ETag and Last-Modified,
+     * so conditional requests are answered with 304 and gzip-capable clients get the precompressed bytes.
+     * With {@code since} or {@code limit} only the items created after the given task or time are returned.
+     *
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @param since          the ID or item GUID of the last task seen, or an ISO-8601 or RFC 1123 timestamp (optional)
+     * @param limit          the maximum number of items to return (optional)
+     * @return ResponseEntity containing the RSS feed in XML format
      * @throws Exception if an error occurs during feed generation
      */
     @GetMapping(value = "/rss", produces = MediaType.APPLICATION_XML_VALUE)
-    public String getRssFeed() throws Exception {
-        // Log RSS feed generation
-        log.debug("Generating RSS feed");
+    public ResponseEntity<byte[]> getRssFeed(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit)
+            throws Exception {
+        // Log RSS feed retrieval
+        log.debug("Retrieving RSS feed since {} with limit {}", since, limit);
         try {
-            Channel channel = rssFeedService.generateFeed();
-            WireFeedOutput output = new WireFeedOutput();
-            String rssFeed = output.outputString(channel);
-            log.info("RSS feed generated successfully");
-            return rssFeed;
+            SerializedFeedDTO feed = since == null && limit == null
+                    ? rssFeedService.getSerializedFeed()
+                    : rssFeedService.getFeedSince(since, limit);
+            boolean gzip = feed.getGzip() != null
+                    && acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+            // Conditional requests are answered with 304 by Spring based on these validators
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_XML);
+            if (feed.getLastModified() != null) {
+                response.lastModified(feed.getLastModified());
+            }
+            if (gzip) {
+                // Each encoding is a separate representation with its own strong ETag
+                response.eTag(feed.getEtag().replaceFirst("\"$", "-gzip\""))
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                return response.body(feed.getGzip());
+            }
+            return response.eTag(feed.getEtag()).body(feed.getXml());
         } catch (Exception e) {
-            log.error("Error occurred while generating RSS feed", e);
+            log.error("Error occurred while retrieving RSS feed", e);
             throw e;
         }
     }
+
+    /**
+     * Builds a 200 response with a task. {@link TaskEtagAdvice} adds the version of the task as ETag
+     * for the representation it is written in, so the response varies by Accept.
+     *
+     * @param task the task
+     * @return the response
+     */
+    private ResponseEntity<Task> okWithEtag(Task task) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(task);
+    }
+
+    /**
+     * Reads the expected task version from an If-Match header.
+     * Only {@code *} on an existing task or a single strong ETag of a task, in any representation,
+     * can match; anything else fails the precondition. The precondition is evaluated before the write,
+     * so {@code *} on a missing task is answered with 412 rather than as a write without precondition.
+     *
+     * @param id      the ID of the task
+     * @param ifMatch the If-Match header
+     * @return the expected version, or null for {@code *}
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.equals("*")) {
+            if (!taskService.taskExists(id)) {
+                log.debug("If-Match * on missing task with ID {}", id);
+                throw new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE);
+            }
+            return null;
+        }
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String version = etag.substring(1, etag.length() - 1);
+            // A write applies to the task whichever representation its ETag was read in
+            if (version.endsWith(TaskEtagAdvice.CBOR_ETAG_SUFFIX) || version.endsWith(TaskEtagAdvice.SMILE_ETAG_SUFFIX)) {
+                version = version.substring(0, version.lastIndexOf('-'));
+            }
+            try {
+                return Long.parseLong(version);
+            } catch (NumberFormatException e) {
+                log.debug("If-Match {} is not a task version", ifMatch);
+            }
+        }
+        throw new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE);
+    }
 }
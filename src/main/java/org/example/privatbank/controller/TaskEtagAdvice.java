@@ -0,0 +1,124 @@
+package org.example.privatbank.controller;
+
+import org.example.privatbank.model.Task;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Gives each task written by {@link TaskController} its version as strong ETag and answers a matching
+ * If-None-Match with 304 Not Modified.
+ * A strong ETag names exact bytes, so the ETag of a CBOR or Smile body carries the format after the
+ * version; JSON, the default, keeps the bare version. The format is taken from the content type Spring MVC
+ * selected for the body, so the ETag always describes the bytes that are written.
+ */
+@ControllerAdvice(assignableTypes = TaskController.class)
+public class TaskEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    /** Media type of Smile bodies */
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /** End of the version in the ETag of a task sent as CBOR */
+    static final String CBOR_ETAG_SUFFIX = "-cbor";
+
+    /** End of the version in the ETag of a task sent as Smile */
+    static final String SMILE_ETAG_SUFFIX = "-smile";
+
+    /**
+     * Applies to every handler of the controller; bodies other than a task are left alone.
+     *
+     * @param returnType    the return type of the handler
+     * @param converterType the selected converter
+     * @return always true
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Sets the ETag of a task in a 200 response from the selected content type. For GET and HEAD
+     * a matching If-None-Match turns the response into 304 Not Modified and nothing is written.
+     *
+     * @param body                the body to write
+     * @param returnType          the return type of the handler
+     * @param selectedContentType the content type the body is written as
+     * @param selectedConverterType the selected converter
+     * @param request             the current request
+     * @param response            the current response
+     * @return the body, or null when the client already holds it
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof Task task) || task.getVersion() == null || !isOk(response)) {
+            return body;
+        }
+        String etag = "\"" + task.getVersion() + etagSuffix(selectedContentType) + "\"";
+        response.getHeaders().setETag(etag);
+
+        HttpMethod method = request.getMethod();
+        if ((HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))
+                && matchesIfNoneMatch(etag, request)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * Tells whether the response is a 200; created or failed responses get no ETag.
+     *
+     * @param response the current response
+     * @return true for 200 OK
+     */
+    private static boolean isOk(ServerHttpResponse response) {
+        return !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value();
+    }
+
+    /**
+     * Returns the ETag suffix of the representation a body is written as.
+     *
+     * @param contentType the content type of the body
+     * @return {@link #CBOR_ETAG_SUFFIX}, {@link #SMILE_ETAG_SUFFIX}, or an empty string for JSON
+     */
+    private static String etagSuffix(MediaType contentType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return CBOR_ETAG_SUFFIX;
+        }
+        if (SMILE.isCompatibleWith(contentType)) {
+            return SMILE_ETAG_SUFFIX;
+        }
+        return "";
+    }
+
+    /**
+     * Compares an ETag with the If-None-Match of a request. If-None-Match uses the weak comparison,
+     * so a weak validator of the same version matches as well.
+     *
+     * @param etag    the ETag of the response
+     * @param request the current request
+     * @return true when the client holds this representation
+     */
+    private static boolean matchesIfNoneMatch(String etag, ServerHttpRequest request) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.privatbank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a bulk operation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+
+    /** The number of tasks affected by the operation */
+    private int affected;
+}
@@ -0,0 +1,28 @@
+package org.example.privatbank.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.example.privatbank.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for moving many tasks to a new status at once.
+ * The tasks are selected either by their IDs or by their current status.
+ */
+@Data
+public class BulkStatusUpdateDTO {
+
+    /** The IDs of the tasks to update */
+    private List<Long> ids;
+
+    /** The current status of the tasks to update */
+    @Pattern(regexp = TaskStatus.PATTERN, message = TaskStatus.INVALID_MESSAGE)
+    private String fromStatus;
+
+    /** The new status of the tasks */
+    @NotBlank(message = "Status is mandatory")
+    @Pattern(regexp = TaskStatus.PATTERN, message = TaskStatus.INVALID_MESSAGE)
+    private String status;
+}
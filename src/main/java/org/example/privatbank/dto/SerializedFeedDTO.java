@@ -0,0 +1,28 @@
+package org.example.privatbank.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a pre-serialized RSS feed.
+ * Holds the XML and its gzip-compressed form together with the validators used for conditional requests.
+ */
+@Value
+public class SerializedFeedDTO {
+
+    /** The feed as UTF-8 encoded XML */
+    byte[] xml;
+
+    /** The feed XML compressed with gzip, or null if it was not precompressed */
+    byte[] gzip;
+
+    /** Strong entity tag derived from the feed content */
+    String etag;
+
+    /** The time the feed content last changed, or null if unknown */
+    Instant lastModified;
+
+    /** The number of entries ever added to the feed when it was serialized */
+    long version;
+}
@@ -0,0 +1,53 @@
+package org.example.privatbank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of one task in a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDTO {
+
+    /** Outcome of a batch item */
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    /** The position of the task in the request */
+    private int index;
+
+    /** Whether the task was created or rejected */
+    private Status status;
+
+    /** The ID of the created task, if created */
+    private Long id;
+
+    /** The reason for the rejection, if rejected */
+    private String message;
+
+    /**
+     * Creates the result of a created task.
+     *
+     * @param index the position of the task in the request
+     * @param id    the ID of the created task
+     * @return the batch result
+     */
+    public static TaskBatchResultDTO created(int index, Long id) {
+        return new TaskBatchResultDTO(index, Status.CREATED, id, null);
+    }
+
+    /**
+     * Creates the result of a rejected task.
+     *
+     * @param index   the position of the task in the request
+     * @param message the reason for the rejection
+     * @return the batch result
+     */
+    public static TaskBatchResultDTO rejected(int index, String message) {
+        return new TaskBatchResultDTO(index, Status.REJECTED, null, message);
+    }
+}
@@ -1,14 +1,18 @@
 package org.example.privatbank.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.example.privatbank.model.TaskStatus;
 
 /**
  * Data Transfer Object for Task.
- * Used for input validation and transferring data between layers.
+ * Used for input validation and transferring data between layers, and as the record of task imports and exports.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TaskDTO {
 
     /** The title of the task */
@@ -22,5 +26,9 @@ public class TaskDTO {
 
     /** The status of the task */
     @NotBlank(message = "Status is mandatory")
+    @Pattern(regexp = TaskStatus.PATTERN, message = TaskStatus.INVALID_MESSAGE)
     private String status;
+
+    /** The version the task is expected to have when it is updated (optional) */
+    private Long version;
 }
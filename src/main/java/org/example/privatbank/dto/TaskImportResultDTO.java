@@ -0,0 +1,41 @@
+package org.example.privatbank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a task import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResultDTO {
+
+    /**
+     * A rejected line of the import.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+
+        /** The number of the line, starting at 1 */
+        private long line;
+
+        /** The reason for the rejection */
+        private String message;
+    }
+
+    /** The number of created tasks */
+    private long imported;
+
+    /** The number of rejected lines */
+    private long rejected;
+
+    /** The first rejected lines, in input order; further rejections are only counted */
+    private List<LineError> errors = new ArrayList<>();
+}
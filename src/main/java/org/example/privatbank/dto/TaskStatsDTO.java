@@ -0,0 +1,22 @@
+package org.example.privatbank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the number of tasks in total and per status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDTO {
+
+    /** The total number of tasks */
+    private long total;
+
+    /** The number of tasks per status label, in the order of the statuses */
+    private Map<String, Long> byStatus;
+}
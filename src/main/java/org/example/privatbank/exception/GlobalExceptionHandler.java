@@ -1,5 +1,8 @@
 package org.example.privatbank.exception;
 
+import org.example.privatbank.service.ValidationMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +18,10 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** Counter of the fields rejected by validation */
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
     /**
      * Handles validation exceptions thrown when method arguments fail validation.
      *
@@ -28,13 +35,41 @@ public class GlobalExceptionHandler {
         // Map to hold field names and error messages
         Map<String, String> errors = new HashMap<>();
         // Populate the map with field errors
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-                errors.put(error.getField(), error.getDefaultMessage()));
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            errors.put(error.getField(), error.getDefaultMessage());
+            validationMetrics.recordFailure(error.getField());
+        });
 
         // Return a bad request response with the errors
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles optimistic locking failures, i.e. updates based on an outdated version of a task.
+     *
+     * @param ex the OptimisticLockingFailureException
+     * @return ResponseEntity containing the conflict message
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+
+        // Return a conflict response, the client has to reload the task
+        return new ResponseEntity<>("Task was modified concurrently", HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles conditional requests whose If-Match does not match the current version of a task.
+     *
+     * @param ex the PreconditionFailedException
+     * @return ResponseEntity containing the exception message
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailed(PreconditionFailedException ex) {
+
+        // Return a precondition failed response, the client has to reload the task
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
     /**
      * Handles runtime exceptions such as custom exceptions.
      *
@@ -0,0 +1,16 @@
+package org.example.privatbank.exception;
+
+/**
+ * Thrown when a conditional request does not match the current version of a task.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Creates the exception with the given message.
+     *
+     * @param message the detail message
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
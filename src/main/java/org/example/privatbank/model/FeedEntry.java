@@ -0,0 +1,50 @@
+package org.example.privatbank.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Immutable snapshot of a task as published in the RSS feed.
+ */
+@Value
+public class FeedEntry {
+
+    /** Prefix of the stable, non-permalink GUID of each item */
+    public static final String GUID_PREFIX = "urn:privatbank:task:";
+
+    /** The ID of the task */
+    Long id;
+
+    /** The title of the task */
+    String title;
+
+    /** The description of the task */
+    String description;
+
+    /** The time the task was created */
+    Instant publishedAt;
+
+    /**
+     * Returns the stable GUID of the item, derived from the task ID.
+     *
+     * @return the GUID, or null if the task has no ID
+     */
+    public String getGuid() {
+        return id == null ? null : GUID_PREFIX + id;
+    }
+
+    /**
+     * Creates a feed entry for a task, published at its creation time.
+     * The time is kept in microseconds, as the database stores it, so the entry equals the one read back.
+     *
+     * @param task the task to publish
+     * @return the feed entry
+     */
+    public static FeedEntry of(Task task) {
+        Instant publishedAt = task.getCreatedAt() != null ? task.getCreatedAt() : Instant.now();
+        return new FeedEntry(task.getId(), task.getTitle(), task.getDescription(),
+                publishedAt.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.privatbank.model;
+
+import lombok.Value;
+
+/**
+ * Number of tasks in one status.
+ */
+@Value
+public class StatusCount {
+
+    /** The status */
+    TaskStatus status;
+
+    /** The number of tasks in the status */
+    long count;
+}
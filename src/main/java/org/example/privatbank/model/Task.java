@@ -3,6 +3,9 @@ package org.example.privatbank.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 
 /**
  * Entity representing a task in the system.
@@ -13,17 +16,45 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Task {
 
-    /** The unique identifier of the task */
+    /** The unique identifier of the task, allocated in blocks so inserts can be batched */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "TASKS_SEQ", allocationSize = 50)
     private Long id;
 
-    /** The title of the task */
+    /** The title of the task, unique across all tasks */
     private String title;
 
     /** The description of the task */
     private String description;
 
-    /** The status of the task (e.g., "Pending", "In Progress", "Completed") */
-    private String status;
+    /** The status of the task, stored as its code by {@link TaskStatusConverter} */
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    /** The time the task was created, set once on insert */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /** The version of the task, incremented on every update for optimistic concurrency control */
+    @Version
+    private Long version;
+
+    /**
+     * Returns a detached copy of this task, so a shared instance can be handed out without its changes
+     * reaching other holders or being flushed by a persistence context.
+     *
+     * @return a new task with the same field values
+     */
+    public Task copy() {
+        Task copy = new Task();
+        copy.setId(id);
+        copy.setTitle(title);
+        copy.setDescription(description);
+        copy.setStatus(status);
+        copy.setCreatedAt(createdAt);
+        copy.setVersion(version);
+        return copy;
+    }
 }
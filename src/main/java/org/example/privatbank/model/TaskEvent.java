@@ -0,0 +1,105 @@
+package org.example.privatbank.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable notification of a committed change to one or more tasks.
+ * Single-task changes carry the task; bulk changes carry the IDs or the status that selected the tasks.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    /** The kind of change */
+    Type type;
+
+    /** The task after the change, for single-task creates and updates */
+    Task task;
+
+    /** The IDs of the affected tasks, or null if they were selected by status */
+    List<Long> ids;
+
+    /** The status that selected the affected tasks, for bulk changes by status */
+    TaskStatus fromStatus;
+
+    /** The new status, for status changes */
+    TaskStatus status;
+
+    /** The number of affected tasks */
+    int count;
+
+    /**
+     * Creates the event for a created task.
+     *
+     * @param task the created task
+     * @return the event
+     */
+    public static TaskEvent created(Task task) {
+        return new TaskEvent(Type.CREATED, task, idOf(task), null, null, 1);
+    }
+
+    /**
+     * Creates the event for a task whose fields were updated.
+     *
+     * @param task the updated task
+     * @return the event
+     */
+    public static TaskEvent updated(Task task) {
+        return new TaskEvent(Type.UPDATED, task, idOf(task), null, null, 1);
+    }
+
+    /**
+     * Creates the event for a task whose status changed.
+     *
+     * @param task the updated task
+     * @return the event
+     */
+    public static TaskEvent statusChanged(Task task) {
+        return new TaskEvent(Type.STATUS_CHANGED, task, idOf(task), null, task.getStatus(), 1);
+    }
+
+    /**
+     * Creates the event for a bulk status change.
+     *
+     * @param ids        the IDs of the updated tasks, or null if they were selected by status
+     * @param fromStatus the status that selected the tasks, or null if they were selected by ID
+     * @param status     the new status
+     * @param count      the number of updated tasks
+     * @return the event
+     */
+    public static TaskEvent statusChanged(List<Long> ids, TaskStatus fromStatus, TaskStatus status, int count) {
+        return new TaskEvent(Type.STATUS_CHANGED, null, ids == null ? null : List.copyOf(ids), fromStatus, status, count);
+    }
+
+    /**
+     * Creates the event for deleted tasks.
+     *
+     * @param ids        the IDs of the deleted tasks, or null if they were selected by status
+     * @param fromStatus the status that selected the tasks, or null if they were selected by ID
+     * @param count      the number of deleted tasks
+     * @return the event
+     */
+    public static TaskEvent deleted(List<Long> ids, TaskStatus fromStatus, int count) {
+        return new TaskEvent(Type.DELETED, null, ids == null ? null : List.copyOf(ids), fromStatus, null, count);
+    }
+
+    /**
+     * Returns the ID of a single task as a list.
+     *
+     * @param task the task
+     * @return the ID as a list, or null if the task has no ID
+     */
+    private static List<Long> idOf(Task task) {
+        return task.getId() == null ? null : List.of(task.getId());
+    }
+}
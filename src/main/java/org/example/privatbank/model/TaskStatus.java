@@ -0,0 +1,120 @@
+package org.example.privatbank.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * The status of a task.
+ * Stored as a small integer code and written as its label in JSON; on input the label or the
+ * constant name is accepted regardless of case, spaces, hyphens and underscores.
+ */
+public enum TaskStatus {
+
+    PENDING(0, "Pending"),
+    IN_PROGRESS(1, "In Progress"),
+    COMPLETED(2, "Completed");
+
+    /** Pattern matching the accepted spellings of all statuses for input validation; blank values are left to @NotBlank */
+    public static final String PATTERN = "(?i)\\s*(pending|in[ _-]?progress|completed)?\\s*";
+
+    /** Message listing the accepted statuses */
+    public static final String INVALID_MESSAGE = "Status must be one of Pending, In Progress, Completed";
+
+    /** The code stored in the database; never change or reuse a code */
+    private final short code;
+
+    /** The label written in JSON and the RSS feed */
+    private final String label;
+
+    /**
+     * Creates a status.
+     *
+     * @param code  the code stored in the database
+     * @param label the label written in JSON
+     */
+    TaskStatus(int code, String label) {
+        this.code = (short) code;
+        this.label = label;
+    }
+
+    /**
+     * Returns the code stored in the database.
+     *
+     * @return the code
+     */
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the label written in JSON.
+     *
+     * @return the label
+     */
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parses a status from its label or constant name.
+     *
+     * @param value the status, e.g. "In Progress", "in-progress" or "IN_PROGRESS"
+     * @return the status, or null if the value is null
+     * @throws IllegalArgumentException if the value is not a known status
+     */
+    @JsonCreator
+    public static TaskStatus of(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = normalize(value);
+        for (TaskStatus status : values()) {
+            if (normalize(status.name()).equals(key)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException(INVALID_MESSAGE);
+    }
+
+    /**
+     * Finds a status by the code stored in the database.
+     *
+     * @param code the code
+     * @return the status, or null if the code is null
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static TaskStatus ofCode(Short code) {
+        if (code == null) {
+            return null;
+        }
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code " + code);
+    }
+
+    /**
+     * Reduces a spelling of a status to upper-case letters.
+     *
+     * @param value the spelling
+     * @return the letters of the spelling in upper case
+     */
+    private static String normalize(String value) {
+        return value.replaceAll("[\\s_-]", "").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the label, so that log messages show the status as clients send it.
+     *
+     * @return the label
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.privatbank.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link TaskStatus} as its small integer code.
+ * Applied to every status attribute, so query parameters compared with a status are converted as well.
+ */
+@Converter(autoApply = true)
+public class TaskStatusConverter implements AttributeConverter<TaskStatus, Short> {
+
+    /**
+     * Converts a status to its code.
+     *
+     * @param status the status
+     * @return the code, or null for no status
+     */
+    @Override
+    public Short convertToDatabaseColumn(TaskStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    /**
+     * Converts a code to its status.
+     *
+     * @param code the code
+     * @return the status, or null for no code
+     */
+    @Override
+    public TaskStatus convertToEntityAttribute(Short code) {
+        return TaskStatus.ofCode(code);
+    }
+}
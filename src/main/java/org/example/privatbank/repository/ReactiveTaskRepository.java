@@ -0,0 +1,238 @@
+package org.example.privatbank.repository;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.example.privatbank.config.FailoverRoutingConnectionFactory;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Non-blocking repository for tasks over R2DBC, used by the reactive task API.
+ * The statements are plain SQL that runs unchanged on H2 and PostgreSQL, like the JPQL of {@link TaskRepository},
+ * except where a statement returns the rows it changed, which the two databases express differently.
+ */
+@Repository
+public class ReactiveTaskRepository {
+
+    /** Columns of a task, in the order read by {@link #toTask(Readable)} */
+    private static final String COLUMNS = "id, title, description, status, created_at, version";
+
+    /** Number of tasks read with one query while all tasks are streamed */
+    private static final int PAGE_SIZE = 200;
+
+    /** Client executing the statements */
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /** Connection factory telling which database is active */
+    @Autowired
+    private FailoverRoutingConnectionFactory connectionFactory;
+
+    /** Scheduler running statements of the blocking H2 driver */
+    @Autowired
+    @Qualifier("databaseScheduler")
+    private Scheduler databaseScheduler;
+
+    /**
+     * Inserts a new task with an ID taken from the task sequence.
+     * Each sequence value is the upper end of a block that Hibernate would hand out, so using the value
+     * itself never collides with IDs allocated by the JPA side.
+     *
+     * @param task the task to insert; its ID, creation time and version are set
+     * @return the inserted task
+     */
+    public Mono<Task> insert(Task task) {
+        Mono<Task> insert = databaseClient.inConnection(connection -> nextId(connection)
+                .flatMap(id -> {
+                    task.setId(id);
+                    task.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+                    task.setVersion(0L);
+                    // $n bind markers are understood by both drivers
+                    Statement statement = connection.createStatement("INSERT INTO TASKS (" + COLUMNS + ")"
+                            + " VALUES ($1, $2, $3, $4, $5, $6)");
+                    statement.bind(0, id).bind(1, task.getTitle());
+                    if (task.getDescription() == null) {
+                        statement.bindNull(2, String.class);
+                    } else {
+                        statement.bind(2, task.getDescription());
+                    }
+                    statement.bind(3, task.getStatus().getCode())
+                            .bind(4, OffsetDateTime.ofInstant(task.getCreatedAt(), ZoneOffset.UTC))
+                            .bind(5, task.getVersion());
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated)
+                            .then(Mono.just(task));
+                }));
+        return onDatabase(insert);
+    }
+
+    /**
+     * Streams all tasks ordered by ID. The tasks are read one page at a time, and the next page is only
+     * queried once the subscriber has requested it, so a slow subscriber holds no connection while it
+     * consumes a page. Like the keyset pages of the blocking API, the pages are not one snapshot.
+     *
+     * @return the tasks
+     */
+    public Flux<Task> findAll() {
+        return findPage(Long.MIN_VALUE)
+                .expand(page -> page.size() < PAGE_SIZE
+                        ? Mono.empty()
+                        : findPage(page.get(page.size() - 1).getId()))
+                .flatMapIterable(page -> page, 1);
+    }
+
+    /**
+     * Finds a task by its ID.
+     *
+     * @param id the ID of the task
+     * @return the task, or empty if it does not exist
+     */
+    public Mono<Task> findById(Long id) {
+        Mono<Task> task = databaseClient.sql("SELECT " + COLUMNS + " FROM TASKS WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+        return onDatabase(task);
+    }
+
+    /**
+     * Updates the status of a task with a single statement and increments its version.
+     * The statement also returns the task as it was before, as in {@link TaskRepositoryCustomImpl}.
+     *
+     * @param id     the ID of the task
+     * @param status the new status
+     * @return the task before the update, or empty if the task does not exist
+     */
+    public Mono<Task> updateStatusById(Long id, TaskStatus status) {
+        Mono<Task> previous = databaseClient.inConnection(connection -> {
+            String sql = isPostgres(connection)
+                    ? "UPDATE TASKS t SET status = $1, version = t.version + 1"
+                            + " FROM (SELECT " + COLUMNS + " FROM TASKS WHERE id = $2 FOR UPDATE) old"
+                            + " WHERE t.id = old.id"
+                            + " RETURNING old.id, old.title, old.description, old.status, old.created_at, old.version"
+                    : "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE TASKS SET status = $1, version = version + 1"
+                            + " WHERE id = $2)";
+            return Flux.from(connection.createStatement(sql).bind(0, status.getCode()).bind(1, id).execute())
+                    .flatMap(result -> result.map(ReactiveTaskRepository::toTask))
+                    .singleOrEmpty();
+        });
+        return onDatabase(previous);
+    }
+
+    /**
+     * Deletes a task by its ID with a single statement, which also returns its status.
+     *
+     * @param id the ID of the task
+     * @return the status of the deleted task, or empty if the task does not exist
+     */
+    public Mono<TaskStatus> deleteById(Long id) {
+        Mono<TaskStatus> previous = databaseClient.inConnection(connection -> {
+            String sql = isPostgres(connection)
+                    ? "DELETE FROM TASKS WHERE id = $1 RETURNING status"
+                    : "SELECT status FROM OLD TABLE (DELETE FROM TASKS WHERE id = $1)";
+            return returnedStatus(connection.createStatement(sql).bind(0, id));
+        });
+        return onDatabase(previous);
+    }
+
+    /**
+     * Runs a statement changing one task and reads the status it returns.
+     *
+     * @param statement the statement
+     * @return the returned status, or empty if no task was changed
+     */
+    private static Mono<TaskStatus> returnedStatus(Statement statement) {
+        return Flux.from(statement.execute())
+                .flatMap(result -> result.map(row -> TaskStatus.ofCode(row.get("status", Short.class))))
+                .singleOrEmpty();
+    }
+
+    /**
+     * Reads one page of tasks ordered by ID.
+     *
+     * @param afterId the ID of the last task of the previous page
+     * @return the tasks of the page
+     */
+    private Mono<List<Task>> findPage(long afterId) {
+        Mono<List<Task>> page = databaseClient.sql("SELECT " + COLUMNS + " FROM TASKS WHERE id > :after"
+                        + " ORDER BY id LIMIT " + PAGE_SIZE)
+                .bind("after", afterId)
+                .map(ReactiveTaskRepository::toTask)
+                .all()
+                .collectList();
+        return onDatabase(page);
+    }
+
+    /**
+     * Takes the next value of the task sequence on the given connection.
+     *
+     * @param connection the connection
+     * @return the next sequence value
+     */
+    private static Mono<Long> nextId(Connection connection) {
+        String sql = isPostgres(connection)
+                ? "SELECT nextval('tasks_seq')"
+                : "SELECT NEXT VALUE FOR TASKS_SEQ";
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(result -> result.map(row -> row.get(0, Long.class)))
+                .single();
+    }
+
+    /**
+     * Tells whether a connection goes to PostgreSQL rather than H2.
+     *
+     * @param connection the connection
+     * @return true for PostgreSQL
+     */
+    private static boolean isPostgres(Connection connection) {
+        return connection.getMetadata().getDatabaseProductName().toUpperCase().contains("POSTGRES");
+    }
+
+    /**
+     * Moves the execution of a statement off the calling thread while H2 is active,
+     * because the H2 driver blocks the thread that subscribes.
+     *
+     * @param publisher the statement execution
+     * @param <T>       the type of the results
+     * @return the statement execution on the right thread
+     */
+    private <T> Mono<T> onDatabase(Mono<T> publisher) {
+        return connectionFactory.getActiveTarget() == FailoverRoutingDataSource.Target.PRIMARY
+                ? publisher.subscribeOn(databaseScheduler)
+                : publisher;
+    }
+
+    /**
+     * Maps a row to a task.
+     *
+     * @param row the row
+     * @return the task
+     */
+    private static Task toTask(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setStatus(TaskStatus.ofCode(row.get("status", Short.class)));
+        OffsetDateTime createdAt = row.get("created_at", OffsetDateTime.class);
+        task.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+}
@@ -1,12 +1,30 @@
 package org.example.privatbank.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.privatbank.model.FeedEntry;
+import org.example.privatbank.model.StatusCount;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task entity.
  */
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     /**
      * Checks if a task with the given title exists.
@@ -15,4 +33,124 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * @return true if a task with the title exists, false otherwise
      */
     boolean existsByTitle(String title);
+
+    /**
+     * Finds which of the given titles are already used, in a single query.
+     *
+     * @param titles the titles to check
+     * @return the titles that already exist
+     */
+    @Query("select t.title from Task t where t.title in :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    /**
+     * Retrieves the next page of tasks after the given ID, ordered by ID.
+     * Seeks directly in the primary key index instead of skipping rows with an offset.
+     *
+     * @param id    the ID after which the page starts (exclusive)
+     * @param limit the maximum number of tasks to return
+     * @return the tasks of the page
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Retrieves the next page of tasks in a status after the given ID, ordered by ID.
+     * Seeks directly in the status index, which is ordered by status and ID.
+     *
+     * @param status the status of the tasks
+     * @param id     the ID after which the page starts (exclusive)
+     * @param limit  the maximum number of tasks to return
+     * @return the tasks of the page
+     */
+    List<Task> findByStatusAndIdGreaterThanOrderByIdAsc(TaskStatus status, Long id, Limit limit);
+
+    /**
+     * Counts the tasks in each status with a single query over the status index.
+     * Statuses without tasks are not returned.
+     *
+     * @return the number of tasks per status
+     */
+    @Query("select new org.example.privatbank.model.StatusCount(t.status, count(t)) from Task t group by t.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Retrieves the newest tasks as feed entries, newest first.
+     * Reads backwards through the creation time index and does not load managed entities.
+     *
+     * @param limit the maximum number of entries to return
+     * @return the feed entries of the newest tasks
+     */
+    @Query("select new org.example.privatbank.model.FeedEntry(t.id, t.title, t.description, t.createdAt)"
+            + " from Task t order by t.createdAt desc, t.id desc")
+    List<FeedEntry> findLatestFeedEntries(Limit limit);
+
+    /**
+     * Retrieves the feed entries created after the given position in creation order, oldest first.
+     * Seeks in the creation time index; the ID breaks ties between tasks created at the same time.
+     *
+     * @param createdAt the creation time of the position
+     * @param id        the ID of the position
+     * @param limit     the maximum number of entries to return
+     * @return the feed entries after the position
+     */
+    @Query("select new org.example.privatbank.model.FeedEntry(t.id, t.title, t.description, t.createdAt)"
+            + " from Task t where t.createdAt >= :createdAt and (t.createdAt > :createdAt or t.id > :id)"
+            + " order by t.createdAt, t.id")
+    List<FeedEntry> findFeedEntriesAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the feed entries of tasks with an ID greater than the given one, in creation order.
+     *
+     * @param id    the ID after which entries are returned (exclusive)
+     * @param limit the maximum number of entries to return
+     * @return the feed entries
+     */
+    @Query("select new org.example.privatbank.model.FeedEntry(t.id, t.title, t.description, t.createdAt)"
+            + " from Task t where t.id > :id order by t.createdAt, t.id")
+    List<FeedEntry> findFeedEntriesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the creation time of a task.
+     *
+     * @param id the ID of the task
+     * @return the creation time, or empty if the task does not exist
+     */
+    @Query("select t.createdAt from Task t where t.id = :id")
+    Optional<Instant> findCreatedAtById(@Param("id") Long id);
+
+    /**
+     * Streams all tasks ordered by ID through a forward-only, read-only cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all tasks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    /**
+     * Moves all tasks from one status to another with a single UPDATE statement.
+     *
+     * @param fromStatus the current status of the tasks to update
+     * @param status     the new status
+     * @return the number of updated tasks
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1 where t.status = :fromStatus")
+    int updateStatusByStatus(@Param("fromStatus") TaskStatus fromStatus, @Param("status") TaskStatus status);
+
+    /**
+     * Deletes all tasks in the given status with a single DELETE statement.
+     *
+     * @param status the status of the tasks to delete
+     * @return the number of deleted tasks
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.status = :status")
+    int deleteTasksByStatus(@Param("status") TaskStatus status);
 }
@@ -0,0 +1,47 @@
+package org.example.privatbank.repository;
+
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom repository operations for Task entity that cannot be expressed as query methods.
+ * The writes return what the changed rows held before the change from the writing statement itself,
+ * so callers learn the affected IDs and previous statuses without a second statement or an extra row lock.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Updates only the given fields of a task with a single UPDATE statement and increments its version.
+     * Fields passed as null are left unchanged.
+     *
+     * @param id              the ID of the task
+     * @param title           the new title, or null
+     * @param description     the new description, or null
+     * @param status          the new status, or null
+     * @param expectedVersion the version the task must still have, or null to skip the check
+     * @return the task as it was before the update, detached; empty if not found or the version did not match
+     */
+    Optional<Task> updateFields(Long id, String title, String description, TaskStatus status, Long expectedVersion);
+
+    /**
+     * Sets the status of all tasks with the given IDs with a single UPDATE statement and increments their versions.
+     *
+     * @param ids    the IDs of the tasks
+     * @param status the new status
+     * @return the statuses the updated tasks had before, by ID; IDs of missing tasks are absent
+     */
+    Map<Long, TaskStatus> updateStatusReturningPrevious(Collection<Long> ids, TaskStatus status);
+
+    /**
+     * Deletes all tasks with the given IDs with a single DELETE statement.
+     *
+     * @param ids the IDs of the tasks
+     * @return the statuses of the deleted tasks, by ID; IDs of missing tasks are absent
+     */
+    Map<Long, TaskStatus> deleteReturningStatuses(Collection<Long> ids);
+}
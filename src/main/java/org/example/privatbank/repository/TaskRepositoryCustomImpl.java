@@ -0,0 +1,177 @@
+package org.example.privatbank.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the custom Task repository operations.
+ * H2 returns the rows a statement changed through a data change delta table ({@code OLD TABLE (...)}),
+ * PostgreSQL through {@code RETURNING}. The failover may switch databases at runtime, so the form is
+ * chosen for each statement from the connection it runs on. PostgreSQL returns only the new values;
+ * the previous ones come from a sub-select of the same rows within the statement, which locks nothing
+ * the UPDATE itself would not lock.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    /** Columns of a task, in the order read by {@link #toTask(Object[])} */
+    private static final String COLUMNS = "id, title, description, status, created_at, version";
+
+    /** Entity manager used to build and run the queries */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Task> updateFields(Long id, String title, String description, TaskStatus status, Long expectedVersion) {
+        boolean postgres = isPostgres();
+
+        // Only the supplied columns end up in the SET clause
+        StringBuilder set = new StringBuilder();
+        if (title != null) {
+            set.append("title = :title, ");
+        }
+        if (description != null) {
+            set.append("description = :description, ");
+        }
+        if (status != null) {
+            set.append("status = :status, ");
+        }
+        String versionCheck = expectedVersion == null ? "" : " AND " + (postgres ? "t." : "") + "version = :version";
+        String sql = postgres
+                ? "UPDATE TASKS t SET " + set + "version = t.version + 1"
+                        + " FROM (SELECT " + COLUMNS + " FROM TASKS WHERE id = :id FOR UPDATE) old"
+                        + " WHERE t.id = old.id" + versionCheck
+                        + " RETURNING old.id, old.title, old.description, old.status, old.created_at, old.version"
+                : "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE TASKS SET " + set + "version = version + 1"
+                        + " WHERE id = :id" + versionCheck + ")";
+
+        Query query = entityManager.createNativeQuery(sql).setParameter("id", id);
+        if (title != null) {
+            query.setParameter("title", title);
+        }
+        if (description != null) {
+            query.setParameter("description", description);
+        }
+        if (status != null) {
+            query.setParameter("status", status.getCode());
+        }
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        List<?> rows = execute(query);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(toTask((Object[]) rows.get(0)));
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, TaskStatus> updateStatusReturningPrevious(Collection<Long> ids, TaskStatus status) {
+        String sql = isPostgres()
+                ? "UPDATE TASKS t SET status = :status, version = t.version + 1"
+                        + " FROM (SELECT id, status FROM TASKS WHERE id IN (:ids) FOR UPDATE) old"
+                        + " WHERE t.id = old.id RETURNING old.id, old.status"
+                : "SELECT id, status FROM OLD TABLE (UPDATE TASKS SET status = :status, version = version + 1"
+                        + " WHERE id IN (:ids))";
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("status", status.getCode())
+                .setParameter("ids", ids);
+        return toStatusesById(execute(query));
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, TaskStatus> deleteReturningStatuses(Collection<Long> ids) {
+        String sql = isPostgres()
+                ? "DELETE FROM TASKS WHERE id IN (:ids) RETURNING id, status"
+                : "SELECT id, status FROM OLD TABLE (DELETE FROM TASKS WHERE id IN (:ids))";
+        Query query = entityManager.createNativeQuery(sql).setParameter("ids", ids);
+        return toStatusesById(execute(query));
+    }
+
+    /**
+     * Runs a statement that changes tasks and returns rows.
+     *
+     * @param query the statement
+     * @return the returned rows
+     */
+    private List<?> execute(Query query) {
+        // Keep the persistence context consistent with the database around the bulk statement
+        entityManager.flush();
+        List<?> rows = query.getResultList();
+        entityManager.clear();
+        return rows;
+    }
+
+    /**
+     * Tells whether the connection of the current transaction goes to PostgreSQL.
+     * The product name is known to the driver, so no statement is sent.
+     *
+     * @return true for PostgreSQL, false for H2
+     */
+    private boolean isPostgres() {
+        String productName = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        return productName.toUpperCase().contains("POSTGRES");
+    }
+
+    /**
+     * Maps returned rows of ID and status code to the statuses by ID.
+     *
+     * @param rows the returned rows
+     * @return the statuses by ID, in the order the rows were returned
+     */
+    private static Map<Long, TaskStatus> toStatusesById(List<?> rows) {
+        Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            statuses.put(((Number) columns[0]).longValue(), TaskStatus.ofCode(((Number) columns[1]).shortValue()));
+        }
+        return statuses;
+    }
+
+    /**
+     * Maps a returned row of {@link #COLUMNS} to a detached task.
+     *
+     * @param row the row
+     * @return the task
+     */
+    private static Task toTask(Object[] row) {
+        Task task = new Task();
+        task.setId(((Number) row[0]).longValue());
+        task.setTitle((String) row[1]);
+        task.setDescription((String) row[2]);
+        task.setStatus(TaskStatus.ofCode(((Number) row[3]).shortValue()));
+        task.setCreatedAt(toInstant(row[4]));
+        task.setVersion(((Number) row[5]).longValue());
+        return task;
+    }
+
+    /**
+     * Converts a returned timestamp to an instant; drivers differ in the type they return.
+     *
+     * @param value the timestamp, or null
+     * @return the instant, or null
+     */
+    private static Instant toInstant(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        return (Instant) value;
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.privatbank.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.ReactiveTaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking counterpart of {@link TaskService} for the reactive task API.
+ * Applies the same business rules: the task limit is enforced by the shared {@link TaskQuota},
+ * duplicate titles are rejected by the unique title index, and every change reaches the RSS feed,
+ * the task statistics and the task event stream.
+ */
+@Slf4j
+@Service
+public class ReactiveTaskService {
+
+    /** Reactive repository for accessing task data */
+    @Autowired
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    /** Publisher of task change events; without a transaction they are delivered immediately */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Quota enforcing the maximum number of tasks, shared with the blocking API */
+    @Autowired
+    private TaskQuota taskQuota;
+
+    /** Cache of task reads, shared with the blocking API */
+    @Autowired
+    private TaskCache taskCache;
+
+    /** Number of tasks per status, shared with the blocking API */
+    @Autowired
+    private TaskStats taskStats;
+
+    /** Name of the unique index on the task title */
+    private static final String TITLE_UNIQUE_INDEX = "UK_TASKS_TITLE";
+
+    /**
+     * Creates a new task after performing business validations.
+     *
+     * @param taskDTO the validated task data transfer object
+     * @return the created task
+     */
+    public Mono<Task> createTask(TaskDTO taskDTO) {
+        return Mono.defer(() -> {
+            log.debug("Starting reactive task creation for: {}", taskDTO);
+
+            // Reserve room within the task limit; given back unless the insert completes
+            if (!taskQuota.tryReserve(1)) {
+                log.error("Task limit reached. Cannot create more tasks.");
+                return Mono.error(new RuntimeException("Task limit reached. Cannot create more tasks."));
+            }
+
+            // Insert the new task; the unique title index rejects duplicates
+            AtomicBoolean created = new AtomicBoolean();
+            return reactiveTaskRepository.insert(toTask(taskDTO))
+                    .onErrorMap(this::isDuplicateTitle, e -> {
+                        log.error("Task with the same title already exists: {}", taskDTO.getTitle());
+                        return new RuntimeException("Task with the same title already exists");
+                    })
+                    // A failed insert or a client that went away before it completed gives the room back,
+                    // before the error reaches the client
+                    .doOnError(e -> taskQuota.release(1))
+                    .doOnCancel(() -> {
+                        if (!created.get()) {
+                            log.debug("Task creation cancelled, releasing its reservation");
+                            taskQuota.release(1);
+                        }
+                    })
+                    .doOnNext(savedTask -> {
+                        created.set(true);
+                        log.info("Task created successfully with ID: {}", savedTask.getId());
+                        taskStats.recordCreated(List.of(savedTask.getStatus()));
+                        eventPublisher.publishEvent(TaskEvent.created(savedTask));
+                    });
+        });
+    }
+
+    /**
+     * Streams all tasks ordered by ID. The cached list is used when present; otherwise rows are read
+     * only as fast as the subscriber consumes them.
+     *
+     * @return the tasks
+     */
+    public Flux<Task> getAllTasks() {
+        log.debug("Streaming all tasks reactively");
+        return Flux.defer(() -> {
+            List<Task> cached = taskCache.getAllTasksIfPresent();
+            return cached != null ? Flux.fromIterable(cached).map(Task::copy) : reactiveTaskRepository.findAll();
+        });
+    }
+
+    /**
+     * Updates the status of a task with a single UPDATE statement.
+     *
+     * @param id          the ID of the task
+     * @param statusValue the new status
+     * @return the updated task
+     */
+    public Mono<Task> updateTaskStatus(Long id, String statusValue) {
+        return Mono.fromCallable(() -> TaskStatus.of(statusValue))
+                .flatMap(status -> updateTaskStatus(id, status));
+    }
+
+    /**
+     * Updates the status of a task with a single UPDATE statement, which also returns the task as it was,
+     * so the response needs no read back.
+     *
+     * @param id     the ID of the task
+     * @param status the new status
+     * @return the updated task
+     */
+    private Mono<Task> updateTaskStatus(Long id, TaskStatus status) {
+        log.debug("Updating status of task with ID: {} to {}", id, status);
+
+        // Update the status directly; no row means the task does not exist
+        return reactiveTaskRepository.updateStatusById(id, status)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Task not found")))
+                .map(task -> {
+                    // Only the status and the version changed
+                    taskStats.recordChanged(List.of(task.getStatus()), status);
+                    task.setStatus(status);
+                    task.setVersion(task.getVersion() + 1);
+                    return task;
+                })
+                .doOnNext(task -> {
+                    log.info("Task with ID {} updated to status {}", id, status);
+                    eventPublisher.publishEvent(TaskEvent.statusChanged(task));
+                })
+                .doOnError(e -> log.error("Task with ID {} not updated: {}", id, e.getMessage()));
+    }
+
+    /**
+     * Deletes a task by its ID with a single DELETE statement.
+     *
+     * @param id the ID of the task to delete
+     * @return completes once the task is deleted
+     */
+    public Mono<Void> deleteTask(Long id) {
+        log.debug("Attempting to delete task with ID: {}", id);
+
+        // Delete directly; no row means the task does not exist
+        return reactiveTaskRepository.deleteById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Task with ID {} not found, cannot delete", id);
+                    return new RuntimeException("Task not found");
+                }))
+                .flatMap(previous -> {
+                    taskQuota.release(1);
+                    taskStats.recordChanged(List.of(previous), null);
+                    eventPublisher.publishEvent(TaskEvent.deleted(List.of(id), null, 1));
+                    log.info("Task with ID {} deleted successfully", id);
+                    return Mono.<Void>empty();
+                });
+    }
+
+    /**
+     * Converts a task data transfer object into a new task.
+     *
+     * @param taskDTO the task data transfer object
+     * @return the new task
+     */
+    private Task toTask(TaskDTO taskDTO) {
+        Task task = new Task();
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setStatus(TaskStatus.of(taskDTO.getStatus()));
+        return task;
+    }
+
+    /**
+     * Checks whether an error was caused by the unique title index.
+     *
+     * @param e the error
+     * @return true if the title is already taken, false otherwise
+     */
+    private boolean isDuplicateTitle(Throwable e) {
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toUpperCase().contains(TITLE_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,77 +2,507 @@ package org.example.privatbank.service;
 
 import com.sun.syndication.feed.rss.Channel;
 import com.sun.syndication.feed.rss.Description;
+import com.sun.syndication.feed.rss.Guid;
 import com.sun.syndication.feed.rss.Item;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.dto.SerializedFeedDTO;
+import org.example.privatbank.model.FeedEntry;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.repository.TaskRepository;
+import org.example.privatbank.util.RingBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Service for generating RSS feeds from tasks.
+ * The feed holds the newest tasks by creation time. Created tasks are added once their transaction
+ * has committed, from the same {@link TaskEvent} the task cache and search index use, so a rolled back
+ * create never shows up. Deleting or updating a task in the feed reloads it from the creation time index,
+ * and so does a periodic refresh, which also brings in tasks created by other instances; every instance
+ * therefore converges on the same items and ETag within the refresh interval.
  */
 @Slf4j
 @Service
 public class RssFeedService {
 
-    /** List to store tasks for the RSS feed */
-    private List<Task> tasks = new ArrayList<>();
+    /** Default number of entries kept in the feed */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /** The title of the feed channel */
+    private static final String FEED_TITLE = "Task Manager Feed";
+
+    /** The description of the feed channel */
+    private static final String FEED_DESCRIPTION = "Latest tasks created";
+
+    /** The link of the feed channel */
+    private static final String FEED_LINK = "http://localhost:8080/rss";
+
+    /** The author of every feed item */
+    private static final String FEED_AUTHOR = "Task Manager";
+
+    /** Streaming writer producing the same XML as ROME without building a document */
+    private final RssFeedWriter feedWriter = new RssFeedWriter(FEED_TITLE, FEED_LINK, FEED_DESCRIPTION, FEED_AUTHOR);
+
+    /**
+     * The entries of the feed, replaced as a whole when the feed is reloaded from the database.
+     *
+     * @param entries     bounded store of the newest feed entries, safe for concurrent writers
+     * @param loadedIds   IDs of the tasks read from the database, which are not added again
+     * @param baseVersion version of the feed before the first entry of this store
+     */
+    private record Feed(RingBuffer<FeedEntry> entries, Set<Long> loadedIds, long baseVersion) {
+
+        /**
+         * Returns the version of the feed, which grows with every change of its content.
+         *
+         * @return the version
+         */
+        long version() {
+            return baseVersion + entries.getPublishedCount();
+        }
+    }
+
+    /** Repository used to load the feed */
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /** Maximum number of entries in the feed */
+    private final int capacity;
+
+    /** The current entries */
+    private volatile Feed feed;
+
+    /** Held shared while adding an entry and exclusively while reloading, so no add is lost to a reload */
+    private final ReadWriteLock feedLock = new ReentrantReadWriteLock();
+
+    /** Interval between reloads from the database, or 0 for none */
+    private final long refreshIntervalMs;
+
+    /** Thread reloading the feed, or null until the feed was first loaded */
+    private ScheduledExecutorService refresher;
+
+    /** Cached serialized feed, replaced only when the entries change */
+    private final AtomicReference<SerializedFeedDTO> serializedFeed = new AtomicReference<>();
+
+    /** Modification time reported while the feed is empty */
+    private final Instant startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    /** Time spent serializing the full feed, or null without a meter registry */
+    private Timer fullFeedTimer;
+
+    /** Time spent serializing delta feeds, or null without a meter registry */
+    private Timer deltaFeedTimer;
+
+    /** Size of every serialized feed in bytes, or null without a meter registry */
+    private DistributionSummary feedSize;
+
+    /**
+     * Creates the service with the default feed capacity.
+     */
+    public RssFeedService() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the service keeping the given number of newest entries.
+     *
+     * @param capacity the maximum number of entries in the feed
+     */
+    public RssFeedService(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates the service keeping the given number of newest entries.
+     *
+     * @param capacity          the maximum number of entries in the feed
+     * @param refreshIntervalMs the interval between reloads from the database, or 0 for none
+     */
+    @Autowired
+    public RssFeedService(@Value("${rss.feed.capacity:" + DEFAULT_CAPACITY + "}") int capacity,
+                          @Value("${rss.feed.refresh-interval-ms:30000}") long refreshIntervalMs) {
+        this.capacity = capacity;
+        this.feed = new Feed(new RingBuffer<>(capacity), Set.of(), 0);
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
 
     /**
-     * Adds a task to the RSS feed.
+     * Publishes the serialization time and size of the feed, and the number of items it holds.
+     *
+     * @param meterRegistry the registry receiving the metrics
+     */
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        fullFeedTimer = Timer.builder("rss.feed.serialization").tag("feed", "full")
+                .description("Time to serialize the RSS feed").register(meterRegistry);
+        deltaFeedTimer = Timer.builder("rss.feed.serialization").tag("feed", "delta")
+                .description("Time to serialize the RSS feed").register(meterRegistry);
+        feedSize = DistributionSummary.builder("rss.feed.size").baseUnit("bytes")
+                .description("Size of the serialized RSS feed").register(meterRegistry);
+        Gauge.builder("rss.feed.items", this, service -> service.feed.entries().size())
+                .description("Number of items in the RSS feed").register(meterRegistry);
+    }
+
+    /**
+     * Warms the feed with the newest tasks stored in the database, so it survives restarts
+     * and every instance serves the same items, and starts the periodic reload.
+     */
+    @PostConstruct
+    public void warm() {
+        refresh();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rss-feed-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic reload.
+     */
+    @PreDestroy
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the feed with the newest tasks stored in the database.
+     * The entries are only replaced if they differ, so an unchanged feed keeps its version and ETag.
+     */
+    public void refresh() {
+        feedLock.writeLock().lock();
+        try {
+            List<FeedEntry> latest = taskRepository.findLatestFeedEntries(Limit.of(capacity));
+            // The query returns the newest first; the feed holds the oldest first to keep creation order
+            List<FeedEntry> ordered = new ArrayList<>(latest.size());
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                ordered.add(latest.get(i));
+            }
+            Feed current = feed;
+            if (ordered.equals(current.entries().snapshot())) {
+                log.debug("RSS feed is up to date with {} tasks", ordered.size());
+                return;
+            }
+            RingBuffer<FeedEntry> entries = new RingBuffer<>(capacity);
+            Set<Long> loadedIds = new HashSet<>();
+            for (FeedEntry entry : ordered) {
+                entries.add(entry);
+                loadedIds.add(entry.getId());
+            }
+            feed = new Feed(entries, loadedIds, current.version() + 1);
+            log.info("RSS feed loaded with {} tasks", ordered.size());
+        } finally {
+            feedLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a task to the RSS feed, dropping the oldest entry once the feed is full.
+     * A task the last reload already read from the database is not added again.
      *
      * @param task the task to add
      */
     public void addTaskToFeed(Task task) {
         log.debug("Adding task to RSS feed: {}", task.getTitle());
-        // Add the task to the tasks list
-        tasks.add(task);
+        feedLock.readLock().lock();
+        try {
+            Feed current = feed;
+            if (task.getId() != null && current.loadedIds().contains(task.getId())) {
+                return;
+            }
+            // Store an immutable snapshot of the task
+            current.entries().add(FeedEntry.of(task));
+        } finally {
+            feedLock.readLock().unlock();
+        }
         log.info("Task '{}' added to RSS feed", task.getTitle());
     }
 
+    /**
+     * Applies a committed change to the feed: created tasks are added, and deleting or updating a task
+     * the feed shows reloads it. Status changes do not show in the feed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        switch (event.getType()) {
+            case CREATED -> addTaskToFeed(event.getTask());
+            case UPDATED, DELETED -> {
+                if (event.getIds() == null || shows(event.getIds())) {
+                    requestRefresh();
+                }
+            }
+            case STATUS_CHANGED -> {
+            }
+        }
+    }
+
+    /**
+     * Tells whether the feed shows any of the given tasks.
+     *
+     * @param ids the IDs of the tasks
+     * @return true if at least one of the tasks is in the feed
+     */
+    private boolean shows(List<Long> ids) {
+        Set<Long> wanted = Set.copyOf(ids);
+        return feed.entries().snapshot().stream().anyMatch(entry -> wanted.contains(entry.getId()));
+    }
+
+    /**
+     * Reloads the feed on the refresh thread, or at once while the thread is not running.
+     */
+    private void requestRefresh() {
+        if (refresher != null) {
+            refresher.execute(this::refreshQuietly);
+        } else if (taskRepository != null) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reloads the feed, logging rather than throwing failures, e.g. while the database is unavailable.
+     */
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the RSS feed, keeping the current items", e);
+        }
+    }
+
     /**
      * Generates the RSS feed channel from the tasks.
      *
      * @return the RSS feed channel
      */
     public Channel generateFeed() {
-        log.debug("Generating RSS feed with {} tasks", tasks.size());
+        // Take a consistent snapshot without blocking writers
+        return buildChannel(feed.entries().snapshot());
+    }
+
+    /**
+     * Writes the current feed as RSS 2.0 XML straight to a stream.
+     * The output is identical to serializing {@link #generateFeed()} with ROME.
+     *
+     * @param out the stream to write to, which is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void writeFeed(OutputStream out) throws IOException {
+        feedWriter.write(feed.entries().snapshot(), out);
+    }
+
+    /**
+     * Returns the feed serialized as XML and gzip, together with its validators.
+     * The serialized form is cached and only rebuilt after the entries changed.
+     *
+     * @return the serialized feed
+     * @throws IOException if the feed cannot be serialized or compressed
+     */
+    public SerializedFeedDTO getSerializedFeed() throws IOException {
+        // Read the version before the snapshot so a concurrent add always triggers a rebuild;
+        // an add still in flight is not counted, so the feed is rebuilt once it completes
+        Feed snapshotFeed = feed;
+        long version = snapshotFeed.version();
+        SerializedFeedDTO cached = serializedFeed.get();
+        if (cached != null && cached.getVersion() >= version) {
+            log.debug("Serving cached RSS feed version {}", cached.getVersion());
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        List<FeedEntry> snapshot = snapshotFeed.entries().snapshot();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream(512 + snapshot.size() * 256);
+        feedWriter.write(snapshot, serialized);
+        byte[] xml = serialized.toByteArray();
+
+        // Precompress once so polls do not pay for compression
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(xml.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(xml);
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(xml) + "\"";
+        Instant lastModified = snapshot.isEmpty() ? startedAt
+                : snapshot.get(snapshot.size() - 1).getPublishedAt().truncatedTo(ChronoUnit.SECONDS);
+        SerializedFeedDTO built = new SerializedFeedDTO(xml, compressed.toByteArray(), etag, lastModified, version);
+
+        // Keep whichever serialized feed is newer
+        SerializedFeedDTO current = serializedFeed.accumulateAndGet(built,
+                (previous, candidate) -> previous != null && previous.getVersion() > candidate.getVersion()
+                        ? previous : candidate);
+        record(fullFeedTimer, start, xml.length);
+        log.info("RSS feed version {} serialized ({} bytes, {} gzipped)", version, xml.length, compressed.size());
+        return current;
+    }
+
+    /**
+     * Returns the feed items created after a task or a point in time, oldest first.
+     * Deltas are read from the creation time index, so every instance returns the same items.
+     * Without a position, the newest items of the in-memory feed are returned.
+     * Delta feeds are not cached or precompressed.
+     *
+     * @param since the ID or item GUID of the last task seen, or an ISO-8601 or RFC 1123 timestamp; may be null
+     * @param limit the maximum number of items, at most the feed capacity; may be null for the capacity
+     * @return the serialized feed without a gzip form, and without Last-Modified when it has no items
+     * @throws IOException if the feed cannot be serialized
+     */
+    public SerializedFeedDTO getFeedSince(String since, Integer limit) throws IOException {
+        if (limit != null && limit < 1) {
+            throw new RuntimeException("Limit must be positive");
+        }
+        Feed current = feed;
+        int max = limit == null ? capacity : Math.min(limit, capacity);
+
+        // The GUID of an item names its task, so the last GUID read can be passed back as it is
+        String position = since != null && since.startsWith(FeedEntry.GUID_PREFIX)
+                ? since.substring(FeedEntry.GUID_PREFIX.length()) : since;
+
+        List<FeedEntry> selected;
+        if (position == null || position.isBlank()) {
+            // Newest items from memory, still oldest first
+            List<FeedEntry> snapshot = current.entries().snapshot();
+            selected = snapshot.subList(Math.max(0, snapshot.size() - max), snapshot.size());
+        } else if (position.chars().allMatch(Character::isDigit)) {
+            Long id = Long.valueOf(position);
+            // Continue after the task's position in creation order, or after its ID if it was deleted
+            selected = taskRepository.findCreatedAtById(id)
+                    .map(createdAt -> taskRepository.findFeedEntriesAfter(createdAt, id, Limit.of(max)))
+                    .orElseGet(() -> taskRepository.findFeedEntriesByIdGreaterThan(id, Limit.of(max)));
+        } else {
+            selected = taskRepository.findFeedEntriesAfter(parseTimestamp(position), Long.MAX_VALUE, Limit.of(max));
+        }
+        log.debug("Serializing RSS feed with {} items since {}", selected.size(), since);
+
+        long start = System.nanoTime();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream(512 + selected.size() * 256);
+        feedWriter.write(selected, serialized);
+        byte[] xml = serialized.toByteArray();
+        record(deltaFeedTimer, start, xml.length);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(xml) + "\"";
+        Instant lastModified = selected.isEmpty() ? null
+                : selected.get(selected.size() - 1).getPublishedAt().truncatedTo(ChronoUnit.SECONDS);
+        return new SerializedFeedDTO(xml, null, etag, lastModified, current.version());
+    }
+
+    /**
+     * Records the serialization of a feed, if metrics are published.
+     *
+     * @param timer the timer of the kind of feed
+     * @param start the time the serialization started, from {@link System#nanoTime()}
+     * @param bytes the size of the serialized feed
+     */
+    private void record(Timer timer, long start, int bytes) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            feedSize.record(bytes);
+        }
+    }
+
+    /**
+     * Parses the timestamp of a delta request.
+     *
+     * @param since an ISO-8601 or RFC 1123 timestamp
+     * @return the parsed instant
+     */
+    private static Instant parseTimestamp(String since) {
+        try {
+            return Instant.parse(since);
+        } catch (DateTimeParseException e) {
+            try {
+                return DateTimeFormatter.RFC_1123_DATE_TIME.parse(since, Instant::from);
+            } catch (DateTimeParseException ignored) {
+                throw new RuntimeException("Invalid since: expected a task ID or GUID, or an ISO-8601 or RFC 1123 timestamp");
+            }
+        }
+    }
+
+    /**
+     * Builds the RSS feed channel from a snapshot of the entries.
+     *
+     * @param snapshot the entries to include, oldest first
+     * @return the RSS feed channel
+     */
+    private Channel buildChannel(List<FeedEntry> snapshot) {
+        log.debug("Generating RSS feed with {} tasks", snapshot.size());
         // Create a new RSS channel
         Channel channel = new Channel();
         // Set the feed type to RSS 2.0
         channel.setFeedType("rss_2.0");
         // Set the title of the RSS feed
-        channel.setTitle("Task Manager Feed");
+        channel.setTitle(FEED_TITLE);
         // Set the description of the RSS feed
-        channel.setDescription("Latest tasks created");
+        channel.setDescription(FEED_DESCRIPTION);
         // Set the link for the RSS feed
-        channel.setLink("http://localhost:8080/rss");
+        channel.setLink(FEED_LINK);
 
         // Create a list to hold RSS items
         List<Item> items = new ArrayList<>();
-        // Loop through the tasks to create RSS items
-        for (Task task : tasks) {
-            log.debug("Creating RSS item for task: {}", task.getTitle());
+        // Loop through the entries to create RSS items
+        for (FeedEntry entry : snapshot) {
+            log.debug("Creating RSS item for task: {}", entry.getTitle());
             // Create a new RSS item
             Item item = new Item();
             // Set the title of the item to the task title
-            item.setTitle(task.getTitle());
+            item.setTitle(entry.getTitle());
             // Set the author of the item
-            item.setAuthor("Task Manager");
-            // Set the publication date to the current date
-            item.setPubDate(new Date());
+            item.setAuthor(FEED_AUTHOR);
+            // Set the publication date to the time the task was published
+            item.setPubDate(Date.from(entry.getPublishedAt()));
             // Create a description for the item
             Description description = new Description();
             // Set the description value to the task description
-            description.setValue(task.getDescription());
+            description.setValue(entry.getDescription());
             // Assign the description to the item
             item.setDescription(description);
+            // Identify the item by its task so readers can deduplicate deltas
+            if (entry.getGuid() != null) {
+                Guid guid = new Guid();
+                guid.setValue(entry.getGuid());
+                guid.setPermaLink(false);
+                item.setGuid(guid);
+            }
             // Add the item to the items list
             items.add(item);
-            log.info("RSS item created for task: {}", task.getTitle());
+            log.info("RSS item created for task: {}", entry.getTitle());
         }
 
         // Set the items of the channel to the items list
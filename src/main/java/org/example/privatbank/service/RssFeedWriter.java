@@ -0,0 +1,169 @@
+package org.example.privatbank.service;
+
+import org.example.privatbank.model.FeedEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Streaming RSS 2.0 writer that writes feed entries straight to an output stream.
+ * No document model is built; each entry is escaped and written as it is visited.
+ * The output is byte-compatible with ROME's {@code WireFeedOutput} (pretty-printed JDOM):
+ * CRLF line breaks, two-space indentation, trimmed text and {@code <element />} for empty text.
+ */
+public class RssFeedWriter {
+
+    /** Line separator used by the JDOM pretty format */
+    private static final String NEWLINE = "\r\n";
+
+    /** RFC 822 date format used by ROME for pubDate */
+    private static final DateTimeFormatter RFC_822 =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    /** The title of the channel */
+    private final String title;
+
+    /** The link of the channel */
+    private final String link;
+
+    /** The description of the channel */
+    private final String description;
+
+    /** The author written for every item */
+    private final String author;
+
+    /**
+     * Creates a writer for a channel.
+     *
+     * @param title       the title of the channel
+     * @param link        the link of the channel
+     * @param description the description of the channel
+     * @param author      the author written for every item
+     */
+    public RssFeedWriter(String title, String link, String description, String author) {
+        this.title = title;
+        this.link = link;
+        this.description = description;
+        this.author = author;
+    }
+
+    /**
+     * Writes the feed with the given entries, oldest first, as UTF-8 XML.
+     * The output stream is flushed but not closed.
+     *
+     * @param entries the entries to write
+     * @param out     the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(Iterable<FeedEntry> entries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        StringBuilder date = new StringBuilder(32);
+
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEWLINE);
+        writer.write("<rss version=\"2.0\">" + NEWLINE);
+        writer.write("  <channel>" + NEWLINE);
+        writeElement(writer, "    ", "title", title);
+        writeElement(writer, "    ", "link", link);
+        writeElement(writer, "    ", "description", description);
+
+        for (FeedEntry entry : entries) {
+            writer.write("    <item>" + NEWLINE);
+            writeElement(writer, "      ", "title", entry.getTitle());
+            writeElement(writer, "      ", "description", entry.getDescription());
+            date.setLength(0);
+            RFC_822.formatTo(entry.getPublishedAt(), date);
+            writeElement(writer, "      ", "pubDate", date);
+            writeElement(writer, "      ", "author", author);
+            if (entry.getId() != null) {
+                writer.write("      <guid isPermaLink=\"false\">" + FeedEntry.GUID_PREFIX);
+                writer.write(Long.toString(entry.getId()));
+                writer.write("</guid>" + NEWLINE);
+            }
+            writer.write("    </item>" + NEWLINE);
+        }
+
+        writer.write("  </channel>" + NEWLINE);
+        writer.write("</rss>" + NEWLINE + NEWLINE);
+        writer.flush();
+    }
+
+    /**
+     * Writes an element with trimmed, escaped text content on its own line.
+     *
+     * @param writer the writer
+     * @param indent the indentation of the element
+     * @param name   the name of the element
+     * @param text   the text content, may be null
+     * @throws IOException if writing fails
+     */
+    private static void writeElement(Writer writer, String indent, String name, CharSequence text) throws IOException {
+        // Trim XML whitespace like the JDOM pretty format does
+        int start = 0;
+        int end = text == null ? 0 : text.length();
+        while (start < end && isXmlWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isXmlWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+
+        writer.write(indent);
+        writer.write('<');
+        writer.write(name);
+        if (start == end) {
+            writer.write(" />" + NEWLINE);
+            return;
+        }
+        writer.write('>');
+        writeEscaped(writer, text, start, end);
+        writer.write("</");
+        writer.write(name);
+        writer.write('>');
+        writer.write(NEWLINE);
+    }
+
+    /**
+     * Writes text content escaped the way JDOM escapes element text.
+     * Characters that are not allowed in XML are dropped.
+     *
+     * @param writer the writer
+     * @param text   the text
+     * @param start  the first character to write
+     * @param end    the end of the range to write (exclusive)
+     * @throws IOException if writing fails
+     */
+    private static void writeEscaped(Writer writer, CharSequence text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '\r' -> writer.write("&#xD;");
+                case '\n' -> writer.write(NEWLINE);
+                default -> {
+                    if ((c >= 0x20 && c < 0xFFFE) || c == '\t') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a character is XML whitespace.
+     *
+     * @param c the character
+     * @return true for space, tab, carriage return and line feed
+     */
+    private static boolean isXmlWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+}
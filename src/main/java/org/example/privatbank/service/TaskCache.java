@@ -0,0 +1,215 @@
+package org.example.privatbank.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of tasks by ID and of the list of all tasks.
+ * Every committed change is announced by a {@link TaskEvent}, whichever API made it, so the cache is
+ * invalidated from those events rather than from each write method. A load that overlaps with a change
+ * is not kept, so a value read before a commit can never outlive the invalidation of that commit.
+ * Tasks are mutable entities, so the cache keeps detached copies and hands out copies of those: a caller
+ * changing a returned task affects neither the cache nor, through open-in-view, the database.
+ */
+@Slf4j
+@Component
+public class TaskCache {
+
+    /** Name of the cache of tasks by ID, used as metric tag */
+    public static final String TASKS_CACHE = "tasks";
+
+    /** Name of the cache of the task list, used as metric tag */
+    public static final String TASK_LIST_CACHE = "taskList";
+
+    /** Key of the single entry of the task list cache */
+    private static final String ALL = "all";
+
+    /** Copies of tasks by ID; an empty value records that the task does not exist */
+    private final Cache<Long, Optional<Task>> tasks;
+
+    /** Copies of all tasks ordered by ID */
+    private final Cache<String, List<Task>> taskList;
+
+    /** Largest task list that is kept in memory */
+    private final int listMaxSize;
+
+    /** Incremented on every invalidation; loads that see it change are discarded */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Data source whose failover switches invalidate the cache, if available */
+    @Autowired(required = false)
+    private FailoverRoutingDataSource dataSource;
+
+    /** The backend the cached tasks were read from */
+    private volatile FailoverRoutingDataSource.Target cachedTarget;
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumSize the maximum number of tasks cached by ID
+     * @param listMaxSize the largest task list that is cached
+     */
+    public TaskCache(@Value("${tasks.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${tasks.cache.list-max-size:10000}") int listMaxSize) {
+        this.tasks = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.taskList = Caffeine.newBuilder().maximumSize(1).recordStats().build();
+        this.listMaxSize = listMaxSize;
+    }
+
+    /**
+     * Publishes size, hit, miss and eviction metrics of both caches.
+     *
+     * @param meterRegistry the registry receiving the metrics
+     */
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, tasks, TASKS_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, taskList, TASK_LIST_CACHE);
+    }
+
+    /**
+     * Returns a task from the cache, loading and caching it on a miss.
+     *
+     * @param id     the ID of the task
+     * @param loader reads the task from the database
+     * @return a copy of the task, or empty if it does not exist
+     */
+    public Optional<Task> getTask(Long id, Supplier<Optional<Task>> loader) {
+        checkTarget();
+        Optional<Task> cached = tasks.getIfPresent(id);
+        if (cached != null) {
+            return cached.map(Task::copy);
+        }
+        long loadGeneration = generation.get();
+        // The loaded task may be managed by the persistence context of the request, so it is not kept
+        Optional<Task> loaded = loader.get().map(Task::copy);
+        tasks.put(id, loaded);
+        // Drop the value again if a change was committed while it was read
+        if (generation.get() != loadGeneration) {
+            tasks.asMap().remove(id, loaded);
+        }
+        return loaded.map(Task::copy);
+    }
+
+    /**
+     * Returns all tasks ordered by ID from the cache, loading and caching them on a miss.
+     * Lists larger than the configured maximum are returned but not cached.
+     *
+     * @param loader reads all tasks from the database
+     * @return the unmodifiable list of copies of all tasks
+     */
+    public List<Task> getAllTasks(Supplier<List<Task>> loader) {
+        checkTarget();
+        List<Task> cached = taskList.getIfPresent(ALL);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long loadGeneration = generation.get();
+        List<Task> loaded = loader.get().stream()
+                .map(Task::copy)
+                .sorted(Comparator.comparing(Task::getId))
+                .toList();
+        if (loaded.size() <= listMaxSize) {
+            taskList.put(ALL, loaded);
+            if (generation.get() != loadGeneration) {
+                taskList.asMap().remove(ALL, loaded);
+            }
+            return copyOf(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the cached list of all tasks without loading it or copying the tasks, so a page or a
+     * filtered subset can be cut from it without copying the rest. The tasks are the cached instances:
+     * they must not be changed, and must be {@linkplain Task#copy() copied} before they are handed out.
+     *
+     * @return the unmodifiable list of all tasks ordered by ID, or null if it is not cached
+     */
+    public List<Task> getAllTasksIfPresent() {
+        checkTarget();
+        return taskList.getIfPresent(ALL);
+    }
+
+    /**
+     * Returns the data version: a number that grows with every committed change and every failover switch.
+     * Equal versions mean that no task was changed in between.
+     *
+     * @return the current data version
+     */
+    public long getGeneration() {
+        checkTarget();
+        return generation.get();
+    }
+
+    /**
+     * Invalidates the entries affected by a committed change.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        generation.incrementAndGet();
+        taskList.invalidateAll();
+        if (event.getIds() != null) {
+            tasks.invalidateAll(event.getIds());
+        } else {
+            // Tasks selected by status are not known individually
+            tasks.invalidateAll();
+        }
+        log.debug("Task cache invalidated after {} of {} tasks", event.getType(), event.getCount());
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        taskList.invalidateAll();
+        tasks.invalidateAll();
+    }
+
+    /**
+     * Copies cached tasks for a caller.
+     *
+     * @param cached the cached tasks
+     * @return the unmodifiable list of copies
+     */
+    private static List<Task> copyOf(List<Task> cached) {
+        return cached.stream().map(Task::copy).toList();
+    }
+
+    /**
+     * Drops all entries when the failover switched to another database since they were read.
+     */
+    private void checkTarget() {
+        if (dataSource == null) {
+            return;
+        }
+        FailoverRoutingDataSource.Target target = dataSource.getActiveTarget();
+        if (target != cachedTarget) {
+            if (cachedTarget != null) {
+                log.info("Active database changed to {}, clearing the task cache", target);
+            }
+            invalidateAll();
+            cachedTarget = target;
+        }
+    }
+}
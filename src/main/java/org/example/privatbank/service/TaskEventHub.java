@@ -0,0 +1,349 @@
+package org.example.privatbank.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.util.RingBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of committed task changes to Server-Sent Events subscribers.
+ * Each event is serialized once, appended to a bounded replay log and offered to a bounded queue per
+ * subscriber. A small pool of sender threads drains the queues, so a slow client never blocks the
+ * publishing transaction; a client whose queue overflows is disconnected and can resume from the replay log.
+ */
+@Slf4j
+@Component
+public class TaskEventHub {
+
+    /** A serialized event; events without a name are heartbeat comments */
+    private record HubEvent(String id, String name, String data) {
+    }
+
+    /** Heartbeat keeping idle connections open and detecting closed ones */
+    private static final HubEvent HEARTBEAT = new HubEvent(null, null, null);
+
+    /** Prefix of the event IDs of this instance, so IDs from a previous run are recognized */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /** The newest events, kept for clients resuming with Last-Event-ID */
+    private final RingBuffer<HubEvent> replayLog;
+
+    /** The connected subscribers */
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Orders appends to the replay log with registrations, so resuming clients see no gaps or duplicates.
+     * A lock rather than a monitor, so virtual threads publishing events are never pinned to their carrier.
+     */
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    /** Object mapper serializing the events */
+    private final ObjectMapper objectMapper;
+
+    /** Maximum number of events queued for one subscriber */
+    private final int bufferSize;
+
+    /** Time after which an event stream is closed and the client reconnects */
+    private final long timeoutMs;
+
+    /** Threads sending queued events to the subscribers */
+    private final ExecutorService sender;
+
+    /** Thread sending heartbeats */
+    private final ScheduledExecutorService heartbeat;
+
+    /**
+     * Creates the hub.
+     *
+     * @param objectMapper  the object mapper serializing the events
+     * @param replaySize    the number of events kept for resuming clients
+     * @param bufferSize    the maximum number of events queued for one subscriber
+     * @param timeoutMs     the time after which an event stream is closed
+     * @param heartbeatMs   the interval between heartbeats
+     * @param senderThreads the number of threads sending events
+     */
+    @Autowired
+    public TaskEventHub(ObjectMapper objectMapper,
+                        @Value("${tasks.events.replay-size:1000}") int replaySize,
+                        @Value("${tasks.events.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.events.timeout-ms:1800000}") long timeoutMs,
+                        @Value("${tasks.events.heartbeat-ms:15000}") long heartbeatMs,
+                        @Value("${tasks.events.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.replayLog = new RingBuffer<>(replaySize);
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)),
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens an event stream for a new subscriber.
+     *
+     * @param lastEventId the ID of the last event the client received, or null for only new events
+     * @return the event stream
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribe(lastEventId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Registers an event stream, first replaying the events the client missed.
+     * If the missed events are no longer kept, a {@code reset} event tells the client to reload its state.
+     *
+     * @param lastEventId the ID of the last event the client received, or null for only new events
+     * @param emitter     the event stream
+     */
+    public void subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber;
+        publishLock.lock();
+        try {
+            List<HubEvent> missed = missedEvents(lastEventId);
+            subscriber = new Subscriber(emitter, bufferSize + missed.size());
+            missed.forEach(subscriber.queue::add);
+            subscribers.add(subscriber);
+            log.info("Event subscriber connected after {}, replaying {} events ({} subscribers)",
+                    lastEventId, missed.size(), subscribers.size());
+        } finally {
+            publishLock.unlock();
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.scheduleDrain();
+    }
+
+    /**
+     * Publishes a task change to all subscribers once its transaction has committed.
+     * Changes made outside a transaction are published immediately.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(TaskEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize task event {}", event.getType(), e);
+            return;
+        }
+        String name = event.getType().name().toLowerCase();
+
+        publishLock.lock();
+        try {
+            // Event IDs count the events of this instance, so the ID of an event is its replay position + 1
+            HubEvent hubEvent = new HubEvent(eventId(replayLog.getAddedCount() + 1), name, data);
+            replayLog.add(hubEvent);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(hubEvent);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        log.debug("Published {} event to {} subscribers", name, subscribers.size());
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Closes all event streams and stops the sender threads.
+     */
+    @PreDestroy
+    public void close() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.evict("shutdown"));
+        sender.shutdownNow();
+    }
+
+    /**
+     * Determines the events a resuming client missed. Must be called while holding the publish lock.
+     *
+     * @param lastEventId the ID of the last event the client received, or null
+     * @return the missed events, or a single reset event if they are no longer kept
+     */
+    private List<HubEvent> missedEvents(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+
+        long published = replayLog.getAddedCount();
+        long oldestKept = published - replayLog.size();
+        long seen = -1;
+        String prefix = epoch + "-";
+        if (lastEventId.startsWith(prefix)) {
+            try {
+                seen = Long.parseLong(lastEventId.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                log.debug("Invalid Last-Event-ID {}", lastEventId);
+            }
+        }
+
+        // Unknown IDs, IDs of a previous run and IDs older than the replay log cannot be resumed
+        if (seen < oldestKept || seen > published) {
+            log.info("Cannot resume events after {}, sending reset", lastEventId);
+            return List.of(new HubEvent(eventId(published), "reset", "{}"));
+        }
+        return replayLog.snapshotAfter(seen - 1);
+    }
+
+    /**
+     * Builds the ID of the event with the given position.
+     *
+     * @param position the number of events published up to and including the event
+     * @return the event ID
+     */
+    private String eventId(long position) {
+        return epoch + "-" + position;
+    }
+
+    /**
+     * Disconnects a subscriber.
+     *
+     * @param subscriber the subscriber
+     */
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            log.info("Event subscriber disconnected ({} subscribers)", subscribers.size());
+        }
+    }
+
+    /**
+     * A connected client with its bounded queue of events still to send.
+     */
+    private final class Subscriber {
+
+        /** The event stream of the client */
+        private final SseEmitter emitter;
+
+        /** Events waiting to be sent */
+        private final BlockingQueue<HubEvent> queue;
+
+        /** Whether a sender thread is draining the queue */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /** Whether the subscriber was disconnected */
+        private volatile boolean closed;
+
+        /**
+         * Creates a subscriber.
+         *
+         * @param emitter  the event stream of the client
+         * @param capacity the maximum number of queued events
+         */
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Queues an event without blocking, disconnecting the subscriber if it cannot keep up.
+         *
+         * @param event the event
+         */
+        private void offer(HubEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Event subscriber fell {} events behind, disconnecting", queue.size());
+                evict("slow consumer");
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Starts draining the queue on a sender thread unless one is already doing so.
+         */
+        private void scheduleDrain() {
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        /**
+         * Sends all queued events.
+         */
+        private void drain() {
+            try {
+                HubEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.name() == null
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().id(event.id()).name(event.name()).data(event.data()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Could not send event, disconnecting subscriber: {}", e.getMessage());
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // Pick up events queued after the last poll
+            scheduleDrain();
+        }
+
+        /**
+         * Disconnects the subscriber and ends its event stream.
+         *
+         * @param reason the reason for logging
+         */
+        private void evict(String reason) {
+            remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Event stream already completed ({})", reason);
+            }
+        }
+    }
+}
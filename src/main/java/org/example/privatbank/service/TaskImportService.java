@@ -0,0 +1,253 @@
+package org.example.privatbank.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.dto.TaskBatchResultDTO;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.dto.TaskImportResultDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports tasks from newline-delimited JSON, one {@link TaskDTO} per line.
+ * The input is read line by line and the tasks are created in chunks of a fixed size, each in its own
+ * transaction through {@link TaskService#createTasks(List)}, so the same rules apply as to a batch and
+ * the tasks are written with JDBC batch inserts. Only one chunk is held in memory at a time.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    /** Longest line that is parsed; a task within the size limits is far shorter */
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    /** Service creating the tasks of each chunk */
+    private final TaskService taskService;
+
+    /** Reader of a task from one line */
+    private final ObjectReader taskReader;
+
+    /** Number of tasks created in one transaction; must not exceed tasks.batch.max-size */
+    private final int chunkSize;
+
+    /** Number of rejected lines reported individually */
+    private final int maxReportedErrors;
+
+    /**
+     * Creates the import service.
+     *
+     * @param taskService       the service creating the tasks
+     * @param objectMapper      the object mapper reading the lines
+     * @param chunkSize         the number of tasks created in one transaction
+     * @param maxReportedErrors the number of rejected lines reported individually
+     */
+    public TaskImportService(TaskService taskService,
+                             ObjectMapper objectMapper,
+                             @Value("${tasks.import.chunk-size:500}") int chunkSize,
+                             @Value("${tasks.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.taskService = taskService;
+        this.taskReader = objectMapper.readerFor(TaskDTO.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports the tasks of a newline-delimited JSON stream. Blank lines are skipped.
+     * Lines that are not a task, break a constraint of {@link TaskDTO} or are rejected by the business rules
+     * are reported with their line number; all other lines are created.
+     *
+     * @param input the UTF-8 encoded input, read up to its end
+     * @return the numbers of created tasks and rejected lines, with the first rejections
+     * @throws IOException if the input cannot be read
+     */
+    public TaskImportResultDTO importTasks(InputStream input) throws IOException {
+        log.debug("Starting task import in chunks of {}", chunkSize);
+        long start = System.nanoTime();
+
+        TaskImportResultDTO result = new TaskImportResultDTO();
+        List<TaskDTO> chunk = new ArrayList<>(chunkSize);
+        long[] chunkLines = new long[chunkSize];
+        LineReader lines = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (lines.isTruncated()) {
+                reject(result, lineNumber, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            // Parse the line; constraints and business rules are checked with the chunk
+            TaskDTO taskDTO;
+            try {
+                taskDTO = taskReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                reject(result, lineNumber, "Invalid task JSON");
+                continue;
+            }
+            chunkLines[chunk.size()] = lineNumber;
+            chunk.add(taskDTO);
+            if (chunk.size() == chunkSize) {
+                createChunk(chunk, chunkLines, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(chunk, chunkLines, result);
+        }
+
+        log.info("Imported {} tasks from {} lines, rejected {}, in {} ms", result.getImported(), lineNumber,
+                result.getRejected(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Creates the tasks of a chunk in one transaction and records the outcome of each line.
+     *
+     * @param chunk      the tasks of the chunk; cleared afterwards
+     * @param chunkLines the line number of each task of the chunk
+     * @param result     the import result to update
+     */
+    private void createChunk(List<TaskDTO> chunk, long[] chunkLines, TaskImportResultDTO result) {
+        try {
+            for (TaskBatchResultDTO itemResult : taskService.createTasks(chunk)) {
+                if (itemResult.getStatus() == TaskBatchResultDTO.Status.CREATED) {
+                    result.setImported(result.getImported() + 1);
+                } else {
+                    reject(result, chunkLines[itemResult.getIndex()], itemResult.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            // The chunk was rolled back as a whole
+            log.error("Import chunk of lines {} to {} rolled back: {}", chunkLines[0], chunkLines[chunk.size() - 1],
+                    e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                reject(result, chunkLines[i], e.getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Records a rejected line.
+     *
+     * @param result     the import result to update
+     * @param lineNumber the number of the line
+     * @param message    the reason for the rejection
+     */
+    private void reject(TaskImportResultDTO result, long lineNumber, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new TaskImportResultDTO.LineError(lineNumber, message));
+        }
+    }
+
+    /**
+     * Reads lines of at most {@link #MAX_LINE_LENGTH} characters, so that a line without end
+     * cannot exhaust the memory. Longer lines are skipped up to their end and flagged as truncated.
+     */
+    private static final class LineReader {
+
+        /** The underlying reader */
+        private final Reader reader;
+
+        /** Characters read ahead */
+        private final char[] buffer = new char[8192];
+
+        /** The characters of the current line */
+        private final StringBuilder line = new StringBuilder();
+
+        /** Position of the next character in the buffer */
+        private int position;
+
+        /** Number of characters in the buffer */
+        private int limit;
+
+        /** Whether the last line read was too long */
+        private boolean truncated;
+
+        /**
+         * Creates a line reader.
+         *
+         * @param reader the underlying reader
+         */
+        private LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next line, without its line terminator.
+         *
+         * @return the line, or null at the end of the input
+         * @throws IOException if the input cannot be read
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return any ? finish() : null;
+                    }
+                }
+                any = true;
+                // Copy up to the end of the line or of the buffer at once
+                int end = position;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                int room = MAX_LINE_LENGTH + 1 - line.length();
+                if (end - position > room) {
+                    truncated = true;
+                }
+                line.append(buffer, position, Math.min(end - position, Math.max(room, 0)));
+                if (end < limit) {
+                    position = end + 1;
+                    return finish();
+                }
+                position = limit;
+            }
+        }
+
+        /**
+         * Completes the current line.
+         *
+         * @return the line without a trailing carriage return
+         */
+        private String finish() {
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() > MAX_LINE_LENGTH) {
+                truncated = true;
+            }
+            return truncated ? "" : line.toString();
+        }
+
+        /**
+         * Tells whether the last line read was longer than {@link #MAX_LINE_LENGTH}.
+         *
+         * @return true if the line was too long
+         */
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
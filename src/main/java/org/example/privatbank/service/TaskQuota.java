@@ -0,0 +1,162 @@
+package org.example.privatbank.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory quota enforcing the maximum number of tasks.
+ * The number of stored tasks is read from the database at startup and then maintained
+ * atomically on create and delete, so checking the limit does not need a query.
+ * It is read again when the failover switches to the other database.
+ */
+@Slf4j
+@Component
+public class TaskQuota {
+
+    /** Repository used to seed the quota */
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /** Data source whose failover switches reseed the quota, if available */
+    @Autowired(required = false)
+    private FailoverRoutingDataSource dataSource;
+
+    /** Maximum number of tasks */
+    private final long limit;
+
+    /** Number of stored or reserved tasks */
+    private final AtomicLong used = new AtomicLong();
+
+    /** The backend the quota was seeded from */
+    private volatile FailoverRoutingDataSource.Target seededTarget;
+
+    /**
+     * Creates the quota with the given limit.
+     *
+     * @param limit the maximum number of tasks
+     */
+    public TaskQuota(@Value("${tasks.limit:100}") long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Seeds the quota with the number of tasks stored in the database.
+     */
+    @PostConstruct
+    public void seed() {
+        seededTarget = dataSource == null ? null : dataSource.getActiveTarget();
+        seed(taskRepository.count());
+    }
+
+    /**
+     * Seeds the quota with the given number of stored tasks.
+     *
+     * @param count the number of stored tasks
+     */
+    public void seed(long count) {
+        used.set(count);
+        log.info("Task quota seeded with {} of {} tasks", count, limit);
+    }
+
+    /**
+     * Reserves room for the given number of tasks without blocking.
+     * When called inside a transaction, the reservation is released again if the transaction does not commit.
+     *
+     * @param count the number of tasks to reserve
+     * @return true if the tasks fit within the limit, false otherwise
+     */
+    public boolean tryReserve(int count) {
+        checkTarget();
+        long current;
+        do {
+            current = used.get();
+            if (current + count > limit) {
+                log.debug("Task quota exhausted: {} of {} used, {} requested", current, limit, count);
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + count));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(count);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Gives back room for the given number of tasks, e.g. after they were deleted.
+     * When called inside a transaction, the room is given back only once the transaction commits.
+     *
+     * @param count the number of tasks to release
+     */
+    public void releaseOnCommit(long count) {
+        if (count <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(count);
+                }
+            });
+        } else {
+            release(count);
+        }
+    }
+
+    /**
+     * Gives back room for the given number of tasks immediately,
+     * e.g. for a reservation made outside a transaction whose insert failed.
+     *
+     * @param count the number of tasks to release
+     */
+    public void release(long count) {
+        used.updateAndGet(current -> Math.max(0, current - count));
+    }
+
+    /**
+     * Returns the number of stored or reserved tasks.
+     *
+     * @return the used part of the quota
+     */
+    public long getUsed() {
+        checkTarget();
+        return used.get();
+    }
+
+    /**
+     * Returns the maximum number of tasks.
+     *
+     * @return the limit
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Reseeds the quota when the failover switched to another database since it was seeded,
+     * since the other database holds a different number of tasks.
+     */
+    private void checkTarget() {
+        if (dataSource != null && dataSource.getActiveTarget() != seededTarget) {
+            log.info("Active database changed to {}, reseeding the task quota", dataSource.getActiveTarget());
+            seed();
+        }
+    }
+}
@@ -0,0 +1,612 @@
+package org.example.privatbank.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory inverted index over the title and description of all tasks, used by the task search.
+ * Every task is a document with a dense number, and every term has a posting list of document numbers
+ * and weights in primitive arrays. Documents are numbered in the order they are added, so posting lists
+ * are sorted and queries merge them without hashing. Deleted and replaced documents are only marked,
+ * and are dropped from the posting lists once they make up half of the index.
+ * The index is built from the database at startup and then kept current from the committed
+ * {@link TaskEvent}s, whichever API made the change.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    /** Weight of a term in the title, relative to a term in the description */
+    private static final int TITLE_WEIGHT = 2;
+
+    /** Score factor of a term that only starts with the query term */
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /** Shortest query term that also matches as a prefix */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /** Number of tasks read with one query while the index is built */
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    /** Fewest deleted documents that are worth a compaction */
+    private static final int MIN_COMPACT_DELETED = 1024;
+
+    /** Repository the index is built from */
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /** Data source whose failover switches rebuild the index, if available */
+    @Autowired(required = false)
+    private FailoverRoutingDataSource dataSource;
+
+    /** Posting lists by term, sorted so that the terms with a common prefix are adjacent */
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    /** Live document of each task */
+    private final Map<Long, Integer> docsByTaskId = new HashMap<>();
+
+    /** Documents that were deleted or replaced */
+    private final BitSet deleted = new BitSet();
+
+    /** Task ID of each document */
+    private long[] taskIds = new long[1024];
+
+    /** Status ordinal of each document */
+    private byte[] statuses = new byte[1024];
+
+    /** Number of documents, including deleted ones */
+    private int docCount;
+
+    /** Number of deleted documents */
+    private int deletedCount;
+
+    /** Searches share the index, changes take it exclusively */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The backend the index was built from */
+    private volatile FailoverRoutingDataSource.Target builtTarget;
+
+    /**
+     * Builds the index from all stored tasks, replacing its content.
+     */
+    @PostConstruct
+    public void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            builtTarget = dataSource == null ? null : dataSource.getActiveTarget();
+            clear();
+            // Read the tasks page by page, so only one page is held in memory
+            long after = Long.MIN_VALUE;
+            List<Task> page;
+            do {
+                page = taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(BUILD_PAGE_SIZE));
+                page.forEach(this::add);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == BUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task search index built with {} tasks and {} terms in {} ms",
+                size(), terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Finds the tasks containing all terms of a query in their title or description.
+     * A query term matches equal terms and, from two characters on, terms starting with it at half the score.
+     * Matches are ranked by the rarity of the terms and how often they occur, with title terms counting double.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of results
+     * @return the IDs of the best matching tasks, best first
+     */
+    public List<Long> search(String query, int limit) {
+        checkTarget();
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Intersect the matches of the rarest terms first to keep the candidates few
+            List<Matches> matches = new ArrayList<>();
+            for (String term : queryTerms) {
+                Matches termMatches = match(term);
+                if (termMatches.size == 0) {
+                    return List.of();
+                }
+                matches.add(termMatches);
+            }
+            matches.sort(Comparator.comparingInt(m -> m.size));
+            Matches result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.size > 0; i++) {
+                result = result.intersect(matches.get(i));
+            }
+            return top(result, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change to the index.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> add(event.getTask());
+                case STATUS_CHANGED -> {
+                    if (event.getIds() != null) {
+                        event.getIds().forEach(id -> setStatus(id, event.getStatus()));
+                    } else {
+                        // Tasks selected by status are not known individually
+                        forEachLiveDoc(event.getFromStatus(), doc -> statuses[doc] = (byte) event.getStatus().ordinal());
+                    }
+                }
+                case DELETED -> {
+                    if (event.getIds() != null) {
+                        event.getIds().forEach(this::remove);
+                    } else {
+                        forEachLiveDoc(event.getFromStatus(), doc -> remove(taskIds[doc]));
+                    }
+                }
+            }
+            if (deletedCount >= MIN_COMPACT_DELETED && deletedCount * 2 >= docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower case terms of letters and digits.
+     *
+     * @param text the text, may be null
+     * @return the terms in order of occurrence
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds a task to the index, replacing its previous document.
+     *
+     * @param task the task
+     */
+    private void add(Task task) {
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        remove(task.getId());
+
+        // Sum the weight of each term over both fields
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String term : tokenize(task.getTitle())) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(task.getDescription())) {
+            weights.merge(term, 1, Integer::sum);
+        }
+
+        int doc = docCount++;
+        if (doc == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, doc * 2);
+            statuses = Arrays.copyOf(statuses, doc * 2);
+        }
+        taskIds[doc] = task.getId();
+        statuses[doc] = (byte) (task.getStatus() == null ? 0 : task.getStatus().ordinal());
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+        docsByTaskId.put(task.getId(), doc);
+    }
+
+    /**
+     * Marks the document of a task as deleted.
+     *
+     * @param taskId the ID of the task
+     */
+    private void remove(Long taskId) {
+        Integer doc = docsByTaskId.remove(taskId);
+        if (doc != null) {
+            deleted.set(doc);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Records the new status of a task.
+     *
+     * @param taskId the ID of the task
+     * @param status the new status
+     */
+    private void setStatus(Long taskId, TaskStatus status) {
+        Integer doc = docsByTaskId.get(taskId);
+        if (doc != null) {
+            statuses[doc] = (byte) status.ordinal();
+        }
+    }
+
+    /**
+     * Calls an action for every live document of tasks with a status.
+     *
+     * @param status the status
+     * @param action the action, called with the document number
+     */
+    private void forEachLiveDoc(TaskStatus status, IntConsumer action) {
+        for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+            if (statuses[doc] == status.ordinal()) {
+                action.accept(doc);
+            }
+        }
+    }
+
+    /**
+     * Finds the documents matching one query term, exactly or as a prefix.
+     *
+     * @param term the query term
+     * @return the matching documents in document order with their scores
+     */
+    private Matches match(String term) {
+        List<Postings> lists = new ArrayList<>();
+        List<Float> factors = new ArrayList<>();
+        Postings exact = terms.get(term);
+        if (exact != null) {
+            lists.add(exact);
+            factors.add(1f);
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            for (Postings postings : terms.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                lists.add(postings);
+                factors.add(PREFIX_FACTOR);
+            }
+        }
+
+        float liveDocs = docCount - deletedCount;
+        if (lists.size() == 1) {
+            // A single posting list is already in document order
+            Postings postings = lists.get(0);
+            Matches matches = new Matches(postings.size);
+            float idf = (float) Math.log(1 + liveDocs / postings.size) * factors.get(0);
+            for (int i = 0; i < postings.size; i++) {
+                if (!deleted.get(postings.docs[i])) {
+                    matches.add(postings.docs[i], idf * saturate(postings.weights[i]));
+                }
+            }
+            return matches;
+        }
+
+        // Merge several posting lists by sorting document and score packed into one long
+        int total = 0;
+        for (Postings postings : lists) {
+            total += postings.size;
+        }
+        long[] packed = new long[total];
+        int n = 0;
+        for (int l = 0; l < lists.size(); l++) {
+            Postings postings = lists.get(l);
+            float idf = (float) Math.log(1 + liveDocs / postings.size) * factors.get(l);
+            for (int i = 0; i < postings.size; i++) {
+                if (!deleted.get(postings.docs[i])) {
+                    float score = idf * saturate(postings.weights[i]);
+                    packed[n++] = ((long) postings.docs[i] << 32) | (Float.floatToRawIntBits(score) & 0xffffffffL);
+                }
+            }
+        }
+        Arrays.sort(packed, 0, n);
+
+        // A document matching several terms keeps its best score
+        Matches matches = new Matches(n);
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (packed[i] >>> 32);
+            float score = Float.intBitsToFloat((int) packed[i]);
+            if (matches.size > 0 && matches.docs[matches.size - 1] == doc) {
+                matches.scores[matches.size - 1] = Math.max(matches.scores[matches.size - 1], score);
+            } else {
+                matches.add(doc, score);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Selects the best scored matches with a bounded min-heap, so only the results are ever sorted.
+     *
+     * @param matches the matches
+     * @param limit   the maximum number of results
+     * @return the task IDs of the best matches, best first; equal scores in document order
+     */
+    private List<Long> top(Matches matches, int limit) {
+        // Score and inverted document packed into one long, so that a greater key is a better match
+        long[] heap = new long[Math.min(limit, matches.size)];
+        int size = 0;
+        for (int i = 0; i < matches.size; i++) {
+            long key = ((long) Float.floatToRawIntBits(matches.scores[i]) << 32) | (~matches.docs[i] & 0xffffffffL);
+            if (size < heap.length) {
+                heap[size++] = key;
+                siftUp(heap, size - 1);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        Arrays.sort(heap, 0, size);
+
+        List<Long> result = new ArrayList<>(size);
+        for (int i = size - 1; i >= 0; i--) {
+            result.add(taskIds[~(int) heap[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Moves a new key of a min-heap up to its place.
+     *
+     * @param heap  the heap
+     * @param index the index of the new key
+     */
+    private static void siftUp(long[] heap, int index) {
+        long key = heap[index];
+        while (index > 0 && heap[(index - 1) / 2] > key) {
+            heap[index] = heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        heap[index] = key;
+    }
+
+    /**
+     * Moves a replaced root of a min-heap down to its place.
+     *
+     * @param heap the heap
+     * @param size the number of keys in the heap
+     */
+    private static void siftDown(long[] heap, int size) {
+        long key = heap[0];
+        int index = 0;
+        while (2 * index + 1 < size) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= key) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+
+    /**
+     * Dampens the weight of a term that occurs many times in a task.
+     *
+     * @param weight the summed weight of the term in the task
+     * @return the term frequency score
+     */
+    private static float saturate(int weight) {
+        return weight * 2.2f / (weight + 1.2f);
+    }
+
+    /**
+     * Drops the deleted documents from the posting lists and renumbers the live ones.
+     */
+    private void compact() {
+        int[] newDocs = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                newDocs[doc] = -1;
+            } else {
+                newDocs[doc] = live;
+                taskIds[live] = taskIds[doc];
+                statuses[live] = statuses[doc];
+                live++;
+            }
+        }
+        for (Iterator<Postings> it = terms.values().iterator(); it.hasNext(); ) {
+            if (it.next().remap(newDocs) == 0) {
+                it.remove();
+            }
+        }
+        docsByTaskId.replaceAll((taskId, doc) -> newDocs[doc]);
+        log.debug("Task search index compacted from {} to {} documents", docCount, live);
+        docCount = live;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    /**
+     * Removes all documents.
+     */
+    private void clear() {
+        terms.clear();
+        docsByTaskId.clear();
+        deleted.clear();
+        docCount = 0;
+        deletedCount = 0;
+    }
+
+    /**
+     * Rebuilds the index when the failover switched to another database since it was built.
+     */
+    private void checkTarget() {
+        if (dataSource != null && dataSource.getActiveTarget() != builtTarget) {
+            log.info("Active database changed to {}, rebuilding the task search index", dataSource.getActiveTarget());
+            build();
+        }
+    }
+
+    /**
+     * Posting list of one term: the documents containing it in increasing order, with the term weight in each.
+     */
+    private static final class Postings {
+
+        /** Document numbers in increasing order */
+        private int[] docs = new int[2];
+
+        /** Weight of the term in each document */
+        private int[] weights = new int[2];
+
+        /** Number of entries */
+        private int size;
+
+        /**
+         * Appends a document, which must be numbered above all documents in the list.
+         *
+         * @param doc    the document number
+         * @param weight the weight of the term in the document
+         */
+        private void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * Renumbers the documents, dropping those without a new number.
+         *
+         * @param newDocs the new number of each document, or -1 if it is dropped
+         * @return the remaining number of entries
+         */
+        private int remap(int[] newDocs) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newDocs[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Matching documents in increasing order with their scores.
+     */
+    private static final class Matches {
+
+        /** Document numbers in increasing order */
+        private final int[] docs;
+
+        /** Score of each document */
+        private final float[] scores;
+
+        /** Number of matches */
+        private int size;
+
+        /**
+         * Creates an empty list of matches.
+         *
+         * @param capacity the maximum number of matches
+         */
+        private Matches(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        /**
+         * Appends a match, which must be numbered above all matches in the list.
+         *
+         * @param doc   the document number
+         * @param score the score
+         */
+        private void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        /**
+         * Keeps the documents that match both lists, summing their scores.
+         *
+         * @param other the other matches
+         * @return the common matches
+         */
+        private Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    result.add(docs[i], scores[i] + other.scores[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,14 +1,39 @@
 package org.example.privatbank.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.example.privatbank.dto.BulkStatusUpdateDTO;
+import org.example.privatbank.dto.TaskBatchResultDTO;
 import org.example.privatbank.dto.TaskDTO;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
 import org.example.privatbank.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for handling task-related operations.
@@ -21,9 +46,48 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
-    /** Service for adding tasks to the RSS feed */
+    /** Publisher of task change events, delivered to listeners once the transaction commits */
     @Autowired
-    private RssFeedService rssFeedService;
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Quota enforcing the maximum number of tasks */
+    @Autowired
+    private TaskQuota taskQuota;
+
+    /** Cache serving task reads until a change is committed */
+    @Autowired
+    private TaskCache taskCache;
+
+    /** Number of tasks per status, maintained on every write */
+    @Autowired
+    private TaskStats taskStats;
+
+    /** Inverted index over the title and description of all tasks */
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    /** Validator applied to each task of a batch */
+    @Autowired
+    private Validator validator;
+
+    /** Counter of the fields rejected by the validator */
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    /** Maximum number of tasks in one batch request */
+    @Value("${tasks.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    /** Name of the unique index on the task title */
+    private static final String TITLE_UNIQUE_INDEX = "UK_TASKS_TITLE";
+
+    /** Entity manager used to detach streamed tasks */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Maximum number of tasks returned in one page */
+    @Value("${tasks.page.max-limit:1000}")
+    private int maxPageLimit = 1000;
 
     /**
      * Creates a new task after performing business validations.
@@ -35,98 +99,305 @@ public class TaskService {
     public Task createTask(TaskDTO taskDTO) {
         log.debug("Starting task creation for: {}", taskDTO);
 
-        // Check if the task limit (100) has been reached
-        long taskCount = taskRepository.count();
-        log.debug("Current task count: {}", taskCount);
-
-        if (taskCount >= 100) {
+        // Reserve room within the task limit; given back if the transaction rolls back
+        if (!taskQuota.tryReserve(1)) {
             log.error("Task limit reached. Cannot create more tasks.");
             throw new RuntimeException("Task limit reached. Cannot create more tasks.");
         }
 
-        // Check for duplicate tasks by title
-        if (taskRepository.existsByTitle(taskDTO.getTitle())) {
-            log.error("Task with the same title already exists: {}", taskDTO.getTitle());
-            throw new RuntimeException("Task with the same title already exists");
-        }
-
         // Convert TaskDTO to Task entity
-        Task task = new Task();
-        task.setTitle(taskDTO.getTitle());
-        task.setDescription(taskDTO.getDescription());
-        task.setStatus(taskDTO.getStatus());
+        Task task = toTask(taskDTO);
 
-        // Save the new task to the repository
-        Task savedTask = taskRepository.save(task);
+        // Insert the new task; the unique title index rejects duplicates
+        Task savedTask;
+        try {
+            savedTask = taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateTitle(e)) {
+                log.error("Task with the same title already exists: {}", taskDTO.getTitle());
+                throw new RuntimeException("Task with the same title already exists");
+            }
+            throw e;
+        }
         log.info("Task created successfully with ID: {}", savedTask.getId());
 
-        // Add the saved task to the RSS feed
-        rssFeedService.addTaskToFeed(savedTask);
-        log.debug("Task added to RSS feed: {}", savedTask.getId());
+        taskStats.recordCreated(List.of(savedTask.getStatus()));
+        eventPublisher.publishEvent(TaskEvent.created(savedTask));
 
         // Return the saved task
         return savedTask;
     }
 
     /**
-     * Deletes a task by its ID.
+     * Creates many tasks in one transaction.
+     * Each task is validated, duplicate titles are found with a single query, and the remaining
+     * tasks are written with JDBC batch inserts. Tasks that cannot be created are reported per item.
+     *
+     * @param taskDTOs the task data transfer objects
+     * @return the outcome of each task, in request order
+     */
+    @Transactional
+    public List<TaskBatchResultDTO> createTasks(List<TaskDTO> taskDTOs) {
+        log.debug("Starting batch creation of {} tasks", taskDTOs.size());
+
+        if (taskDTOs.size() > maxBatchSize) {
+            log.error("Batch of {} tasks exceeds the maximum of {}", taskDTOs.size(), maxBatchSize);
+            throw new RuntimeException("Batch size exceeds the maximum of " + maxBatchSize + " tasks");
+        }
+
+        TaskBatchResultDTO[] results = new TaskBatchResultDTO[taskDTOs.size()];
+
+        // Validate each task and reject titles repeated within the batch
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            String violations = validate(taskDTO);
+            if (violations != null) {
+                results[i] = TaskBatchResultDTO.rejected(i, violations);
+            } else if (candidates.putIfAbsent(taskDTO.getTitle(), i) != null) {
+                results[i] = TaskBatchResultDTO.rejected(i, "Task with the same title already exists");
+            }
+        }
+
+        // Reject titles that are already stored, with a single query
+        if (!candidates.isEmpty()) {
+            for (String title : taskRepository.findExistingTitles(candidates.keySet())) {
+                int index = candidates.remove(title);
+                results[index] = TaskBatchResultDTO.rejected(index, "Task with the same title already exists");
+            }
+        }
+
+        // Reserve room for all remaining tasks within the task limit
+        if (!candidates.isEmpty() && !taskQuota.tryReserve(candidates.size())) {
+            log.error("Task limit reached. Cannot create {} more tasks.", candidates.size());
+            for (int index : candidates.values()) {
+                results[index] = TaskBatchResultDTO.rejected(index, "Task limit reached. Cannot create more tasks.");
+            }
+            candidates.clear();
+        }
+
+        // Insert the remaining tasks with JDBC batching
+        List<Task> tasks = new ArrayList<>(candidates.size());
+        for (int index : candidates.values()) {
+            tasks.add(toTask(taskDTOs.get(index)));
+        }
+        List<Task> savedTasks;
+        try {
+            savedTasks = taskRepository.saveAll(tasks);
+            taskRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateTitle(e)) {
+                log.error("Task with the same title was created concurrently, rolling back the batch");
+                throw new RuntimeException("Task with the same title already exists");
+            }
+            throw e;
+        }
+
+        int position = 0;
+        for (int index : candidates.values()) {
+            Task savedTask = savedTasks.get(position++);
+            results[index] = TaskBatchResultDTO.created(index, savedTask.getId());
+            eventPublisher.publishEvent(TaskEvent.created(savedTask));
+            // The request keeps its persistence context across transactions; do not let an import grow it
+            entityManager.detach(savedTask);
+        }
+        taskStats.recordCreated(savedTasks.stream().map(Task::getStatus).toList());
+        log.info("Batch created {} of {} tasks", savedTasks.size(), taskDTOs.size());
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes a task by its ID with a single DELETE statement, which also returns the status it had.
      *
      * @param id the ID of the task to delete
      */
+    @Transactional
     public void deleteTask(Long id) {
         log.debug("Attempting to delete task with ID: {}", id);
 
-        // Check if the task exists before trying to delete
-        if (!taskRepository.existsById(id)) {
+        // Delete the task and get its status for the statistics; no row means the task does not exist
+        Map<Long, TaskStatus> previous = taskRepository.deleteReturningStatuses(List.of(id));
+        if (previous.isEmpty()) {
             log.error("Task with ID {} not found, cannot delete", id);
             throw new RuntimeException("Task not found");
         }
+        taskQuota.releaseOnCommit(1);
+        taskStats.recordChanged(List.copyOf(previous.values()), null);
+        eventPublisher.publishEvent(TaskEvent.deleted(List.of(id), null, 1));
+        log.info("Task with ID {} deleted successfully", id);
+    }
 
-        try {
-            taskRepository.deleteById(id);
-            log.info("Task with ID {} deleted successfully", id);
-        } catch (Exception e) {
-            log.error("Error occurred while deleting task with ID: {}", id, e);
-            throw e;
+    /**
+     * Deletes many tasks with a single DELETE statement.
+     * The tasks are selected either by their IDs or by their status.
+     *
+     * @param ids         the IDs of the tasks to delete, or null
+     * @param statusValue the status of the tasks to delete, or null
+     * @return the number of deleted tasks
+     */
+    @Transactional
+    public int deleteTasks(List<Long> ids, String statusValue) {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byStatus = statusValue != null && !statusValue.isBlank();
+        if (byIds == byStatus) {
+            log.error("Bulk delete needs either IDs or a status");
+            throw new RuntimeException("Either ids or status must be given");
+        }
+        TaskStatus status = byStatus ? TaskStatus.of(statusValue) : null;
+
+        int deleted;
+        List<TaskStatus> previous;
+        List<Long> deletedIds = null;
+        if (byIds) {
+            if (ids.size() > maxBatchSize) {
+                log.error("Bulk delete of {} tasks exceeds the maximum of {}", ids.size(), maxBatchSize);
+                throw new RuntimeException("Batch size exceeds the maximum of " + maxBatchSize + " tasks");
+            }
+            log.debug("Deleting {} tasks by ID", ids.size());
+            // Only the IDs of tasks that existed come back, so missing IDs are not announced
+            Map<Long, TaskStatus> previousById = taskRepository.deleteReturningStatuses(ids);
+            deletedIds = List.copyOf(previousById.keySet());
+            previous = List.copyOf(previousById.values());
+            deleted = previous.size();
+        } else {
+            log.debug("Deleting tasks in status {}", status);
+            deleted = taskRepository.deleteTasksByStatus(status);
+            previous = Collections.nCopies(deleted, status);
+        }
+        taskQuota.releaseOnCommit(deleted);
+        taskStats.recordChanged(previous, null);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(TaskEvent.deleted(deletedIds, status, deleted));
         }
+        log.info("Deleted {} tasks", deleted);
+
+        return deleted;
     }
 
     /**
-     * Check a task by its ID.
+     * Check a task by its ID, answered from the cache when possible.
      *
      * @param id the ID of the task to check
      */
     public boolean taskExists(Long id) {
-        return taskRepository.existsById(id);
+        return taskCache.getTask(id, () -> taskRepository.findById(id)).isPresent();
     }
 
     /**
-     * Updates the status of a task.
+     * Finds a task by its ID, answered from the cache when possible.
+     *
+     * @param id the ID of the task
+     * @return the task, or empty if it does not exist
+     */
+    public Optional<Task> findTask(Long id) {
+        log.debug("Retrieving task with ID: {}", id);
+        return taskCache.getTask(id, () -> taskRepository.findById(id));
+    }
+
+    /**
+     * Returns the data version, which grows with every committed change to any task.
+     * Reading it needs no query, so clients can be told cheaply that nothing has changed.
+     *
+     * @return the current data version
+     */
+    public long getDataVersion() {
+        return taskCache.getGeneration();
+    }
+
+    /**
+     * Updates the status of a task with a single UPDATE statement.
      *
      * @param id     the ID of the task
      * @param status the new status
      * @return the updated task
      */
+    @Transactional
     public Task updateTaskStatus(Long id, String status) {
+        return updateTaskStatus(id, status, null);
+    }
+
+    /**
+     * Updates the status of a task with a single UPDATE statement, provided it still has the expected version.
+     * The statement returns the task as it was, which gives its previous status for the statistics
+     * and the response without reading it back.
+     *
+     * @param id              the ID of the task
+     * @param statusValue     the new status
+     * @param expectedVersion the version the task must still have, or null to skip the check
+     * @return the updated task
+     */
+    @Transactional
+    public Task updateTaskStatus(Long id, String statusValue, Long expectedVersion) {
+        TaskStatus status = TaskStatus.of(statusValue);
         log.debug("Updating status of task with ID: {} to {}", id, status);
 
-        // Find the task by ID; throw exception if not found
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Task with ID {} not found", id);
-                    return new RuntimeException("Task not found");
-                });
+        // Update the status directly; no row means the task does not exist or has another version
+        Task task = taskRepository.updateFields(id, null, null, status, expectedVersion)
+                .orElseThrow(() -> updateFailed(id, expectedVersion));
+        TaskStatus previous = task.getStatus();
+        log.info("Task with ID {} updated to status {}", id, status);
 
-        // Update the status of the task
+        // Only the status and the version changed
         task.setStatus(status);
-        Task updatedTask = taskRepository.save(task);
-        log.info("Task with ID {} updated to status {}", id, status);
+        task.setVersion(task.getVersion() + 1);
+        taskStats.recordChanged(List.of(previous), status);
+        eventPublisher.publishEvent(TaskEvent.statusChanged(task));
+        return task;
+    }
 
-        return updatedTask;
+    /**
+     * Moves many tasks to a new status with a single UPDATE statement.
+     * The tasks are selected either by their IDs or by their current status.
+     *
+     * @param update the selection of tasks and the new status
+     * @return the number of updated tasks
+     */
+    @Transactional
+    public int updateTasksStatus(BulkStatusUpdateDTO update) {
+        boolean byIds = update.getIds() != null && !update.getIds().isEmpty();
+        boolean byStatus = update.getFromStatus() != null && !update.getFromStatus().isBlank();
+        if (byIds == byStatus) {
+            log.error("Bulk status update needs either IDs or a current status: {}", update);
+            throw new RuntimeException("Either ids or fromStatus must be given");
+        }
+
+        TaskStatus status = TaskStatus.of(update.getStatus());
+        TaskStatus fromStatus = byStatus ? TaskStatus.of(update.getFromStatus()) : null;
+
+        int updated;
+        List<TaskStatus> previous;
+        List<Long> updatedIds = null;
+        if (byIds) {
+            if (update.getIds().size() > maxBatchSize) {
+                log.error("Bulk status update of {} tasks exceeds the maximum of {}", update.getIds().size(), maxBatchSize);
+                throw new RuntimeException("Batch size exceeds the maximum of " + maxBatchSize + " tasks");
+            }
+            log.debug("Updating status of {} tasks to {}", update.getIds().size(), status);
+            // Only the IDs of tasks that exist come back, so missing IDs are not announced
+            Map<Long, TaskStatus> previousById = taskRepository.updateStatusReturningPrevious(update.getIds(), status);
+            updatedIds = List.copyOf(previousById.keySet());
+            previous = List.copyOf(previousById.values());
+            updated = previous.size();
+        } else {
+            log.debug("Updating status of tasks in status {} to {}", fromStatus, status);
+            updated = taskRepository.updateStatusByStatus(fromStatus, status);
+            previous = Collections.nCopies(updated, fromStatus);
+        }
+        taskStats.recordChanged(previous, status);
+        if (updated > 0) {
+            eventPublisher.publishEvent(TaskEvent.statusChanged(updatedIds, fromStatus, status, updated));
+        }
+        log.info("Updated status of {} tasks to {}", updated, status);
+
+        return updated;
     }
 
     /**
-     * Updates specific fields of a task.
+     * Updates specific fields of a task with a single UPDATE statement, without loading it first.
+     * Only the supplied fields are written. If the task data transfer object carries a version,
+     * the update only succeeds while the task still has that version. The statement returns the task
+     * as it was, so the response is built without reading it back.
      *
      * @param id      the ID of the task
      * @param taskDTO the task data transfer object with updated fields
@@ -135,39 +406,58 @@ public class TaskService {
     @Transactional
     public Task updateTaskFields(Long id, TaskDTO taskDTO) {
         log.debug("Updating fields of task with ID: {}", id);
+        TaskStatus status = TaskStatus.of(taskDTO.getStatus());
 
-        // Find the task by ID; throw exception if not found
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Task with ID {} not found", id);
-                    return new RuntimeException("Task not found");
-                });
+        // Write only the supplied fields and bump the version
+        Optional<Task> updated;
+        try {
+            updated = taskRepository.updateFields(id, taskDTO.getTitle(), taskDTO.getDescription(),
+                    status, taskDTO.getVersion());
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateTitle(e)) {
+                log.error("Task with the same title already exists: {}", taskDTO.getTitle());
+                throw new RuntimeException("Task with the same title already exists");
+            }
+            throw e;
+        }
+        Task task = updated.orElseThrow(() -> updateFailed(id, taskDTO.getVersion()));
+        TaskStatus previous = task.getStatus();
+        log.info("Task with ID {} updated successfully", id);
 
-        // Update the title if it's provided
+        // Apply the written fields to the returned task for the response
         if (taskDTO.getTitle() != null) {
-            log.debug("Updating title for task ID {}: {}", id, taskDTO.getTitle());
             task.setTitle(taskDTO.getTitle());
         }
-        // Update the description if it's provided
         if (taskDTO.getDescription() != null) {
-            log.debug("Updating description for task ID {}: {}", id, taskDTO.getDescription());
             task.setDescription(taskDTO.getDescription());
         }
-        // Update the status if it's provided
-        if (taskDTO.getStatus() != null) {
-            log.debug("Updating status for task ID {}: {}", id, taskDTO.getStatus());
-            task.setStatus(taskDTO.getStatus());
+        if (status != null) {
+            task.setStatus(status);
+            taskStats.recordChanged(List.of(previous), status);
         }
+        task.setVersion(task.getVersion() + 1);
+        eventPublisher.publishEvent(TaskEvent.updated(task));
+        return task;
+    }
 
-        // Save the updated task
-        Task updatedTask = taskRepository.save(task);
-        log.info("Task with ID {} updated successfully", id);
-
-        return updatedTask;
+    /**
+     * Explains why an update changed no row: a version conflict or a missing task.
+     *
+     * @param id              the ID of the task
+     * @param expectedVersion the version the task had to have, or null if none was expected
+     * @return the exception to throw
+     */
+    private RuntimeException updateFailed(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            log.error("Task with ID {} was modified concurrently, expected version {}", id, expectedVersion);
+            return new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        log.error("Task with ID {} not found", id);
+        return new RuntimeException("Task not found");
     }
 
     /**
-     * Retrieves all tasks from the repository.
+     * Retrieves all tasks ordered by ID, from the cache unless a change was committed since they were read.
      *
      * @return List of all tasks
      */
@@ -175,7 +465,7 @@ public class TaskService {
         log.debug("Retrieving all tasks");
 
         try {
-            List<Task> tasks = taskRepository.findAll();
+            List<Task> tasks = taskCache.getAllTasks(taskRepository::findAll);
             log.info("Retrieved {} tasks", tasks.size());
             return tasks;
         } catch (Exception e) {
@@ -183,4 +473,191 @@ public class TaskService {
             throw e;
         }
     }
+
+    /**
+     * Retrieves all tasks in a status, ordered by ID.
+     * They are filtered from the cached list of all tasks when it is present, and read through
+     * the status index otherwise.
+     *
+     * @param statusValue the status of the tasks
+     * @return the tasks in the status
+     */
+    public List<Task> getTasksByStatus(String statusValue) {
+        TaskStatus status = TaskStatus.of(statusValue);
+        log.debug("Retrieving all tasks in status {}", status);
+
+        List<Task> cached = taskCache.getAllTasksIfPresent();
+        List<Task> tasks = cached != null
+                ? cached.stream().filter(task -> task.getStatus() == status).map(Task::copy).toList()
+                : taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, Long.MIN_VALUE, Limit.unlimited());
+        log.info("Retrieved {} tasks in status {}", tasks.size(), status);
+        return tasks;
+    }
+
+    /**
+     * Retrieves one page of tasks ordered by ID, starting after the given ID (keyset pagination).
+     * The page is cut from the cached list of all tasks when it is present.
+     *
+     * @param afterId     the ID of the last task of the previous page, or null for the first page
+     * @param limit       the maximum number of tasks to return, capped at the configured maximum
+     * @param statusValue the status of the tasks, or null for tasks in any status
+     * @return the tasks of the page
+     */
+    public List<Task> getTasksPage(Long afterId, int limit, String statusValue) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        TaskStatus status = TaskStatus.of(statusValue);
+        log.debug("Retrieving up to {} tasks after ID {} in status {}", pageSize, afterId, status);
+
+        List<Task> cached = taskCache.getAllTasksIfPresent();
+        if (cached != null) {
+            return status == null
+                    ? pageOf(cached, after, pageSize).stream().map(Task::copy).toList()
+                    : pageOf(cached, after, cached.size()).stream()
+                            .filter(task -> task.getStatus() == status)
+                            .limit(pageSize)
+                            .map(Task::copy)
+                            .toList();
+        }
+        List<Task> tasks = status == null
+                ? taskRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize))
+                : taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, after, Limit.of(pageSize));
+        log.info("Retrieved page of {} tasks after ID {}", tasks.size(), afterId);
+        return tasks;
+    }
+
+    /**
+     * Returns the number of tasks in each status, without a query.
+     *
+     * @return the counts of all statuses
+     */
+    public Map<TaskStatus, Long> getStatusCounts() {
+        return taskStats.getCounts();
+    }
+
+    /**
+     * Searches tasks by the words of their title and description, best matches first.
+     *
+     * @param query the words to search for; words may be incomplete
+     * @param limit the maximum number of tasks, capped at the maximum page size
+     * @return the matching tasks
+     */
+    public List<Task> searchTasks(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            log.error("Search without a query");
+            throw new RuntimeException("Search query is mandatory");
+        }
+        int size = Math.max(1, Math.min(limit, maxPageLimit));
+        log.debug("Searching up to {} tasks for '{}'", size, query);
+
+        List<Long> ids = taskSearchIndex.search(query, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Read the matching tasks with one query and keep the ranking of the index
+        Map<Long, Task> tasksById = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        List<Task> tasks = ids.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        log.info("Found {} tasks for '{}'", tasks.size(), query);
+        return tasks;
+    }
+
+    /**
+     * Passes every task, ordered by ID, to the given consumer while reading them through a database cursor.
+     * Each task is detached once consumed so memory use does not grow with the table size.
+     *
+     * @param consumer the consumer receiving the tasks one by one
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<Task> consumer) {
+        log.debug("Streaming all tasks");
+
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                consumer.accept(task);
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        log.info("Streamed {} tasks", count);
+    }
+
+    /**
+     * Cuts one page out of a list of tasks ordered by ID.
+     *
+     * @param tasks    the tasks ordered by ID
+     * @param afterId  the ID after which the page starts
+     * @param pageSize the maximum number of tasks in the page
+     * @return the tasks of the page
+     */
+    private List<Task> pageOf(List<Task> tasks, long afterId, int pageSize) {
+        // Binary search for the first task with an ID above the cursor
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tasks.get(middle).getId() <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return tasks.subList(low, Math.min(tasks.size(), low + pageSize));
+    }
+
+    /**
+     * Converts a task data transfer object into a new task entity.
+     *
+     * @param taskDTO the task data transfer object
+     * @return the new task entity
+     */
+    private Task toTask(TaskDTO taskDTO) {
+        Task task = new Task();
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setStatus(TaskStatus.of(taskDTO.getStatus()));
+        return task;
+    }
+
+    /**
+     * Validates a task data transfer object against its constraints.
+     *
+     * @param taskDTO the task data transfer object
+     * @return the violation messages, or null if the task is valid
+     */
+    private String validate(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is mandatory";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        violations.forEach(violation -> validationMetrics.recordFailure(violation.getPropertyPath().toString()));
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Checks whether a data integrity violation was caused by the unique title index.
+     *
+     * @param e the data integrity violation
+     * @return true if the title is already taken, false otherwise
+     */
+    private boolean isDuplicateTitle(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toUpperCase().contains(TITLE_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return e.getMessage() != null && e.getMessage().toUpperCase().contains(TITLE_UNIQUE_INDEX);
+    }
 }
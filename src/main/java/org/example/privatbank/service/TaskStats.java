@@ -0,0 +1,148 @@
+package org.example.privatbank.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.model.StatusCount;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory number of tasks per status.
+ * The counts are read from the database once and then maintained on every committed write,
+ * so reading them needs no query. Writes report the statuses of the tasks they change,
+ * as returned by the writing statement itself, so the counts stay exact under concurrent writes.
+ */
+@Slf4j
+@Component
+public class TaskStats {
+
+    /** Repository used to seed the counts */
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /** Data source whose failover switches reseed the counts, if available */
+    @Autowired(required = false)
+    private FailoverRoutingDataSource dataSource;
+
+    /** Number of tasks per status, indexed by the ordinal of the status */
+    private final AtomicLongArray counts = new AtomicLongArray(TaskStatus.values().length);
+
+    /** The backend the counts were seeded from */
+    private volatile FailoverRoutingDataSource.Target seededTarget;
+
+    /**
+     * Seeds the counts from the database.
+     */
+    @PostConstruct
+    public void seed() {
+        seededTarget = dataSource == null ? null : dataSource.getActiveTarget();
+        seed(taskRepository.countByStatus());
+    }
+
+    /**
+     * Seeds the counts with the given numbers of stored tasks.
+     *
+     * @param statusCounts the number of tasks per status; missing statuses have no tasks
+     */
+    public void seed(List<StatusCount> statusCounts) {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        for (StatusCount statusCount : statusCounts) {
+            counts.set(statusCount.getStatus().ordinal(), statusCount.getCount());
+        }
+        log.info("Task statistics seeded with {}", statusCounts);
+    }
+
+    /**
+     * Records created tasks.
+     * When called inside a transaction, the change is applied only once the transaction commits.
+     *
+     * @param statuses the statuses of the created tasks, one per task
+     */
+    public void recordCreated(Collection<TaskStatus> statuses) {
+        long[] delta = new long[counts.length()];
+        for (TaskStatus status : statuses) {
+            delta[status.ordinal()]++;
+        }
+        applyOnCommit(delta);
+    }
+
+    /**
+     * Records tasks that moved to a new status or were deleted.
+     * When called inside a transaction, the change is applied only once the transaction commits.
+     *
+     * @param previous the statuses of the tasks before the change, one per task
+     * @param status   the new status, or null if the tasks were deleted
+     */
+    public void recordChanged(Collection<TaskStatus> previous, TaskStatus status) {
+        long[] delta = new long[counts.length()];
+        for (TaskStatus before : previous) {
+            delta[before.ordinal()]--;
+            if (status != null) {
+                delta[status.ordinal()]++;
+            }
+        }
+        applyOnCommit(delta);
+    }
+
+    /**
+     * Returns the number of tasks per status.
+     *
+     * @return the counts of all statuses in declaration order
+     */
+    public Map<TaskStatus, Long> getCounts() {
+        // Counts of the other database are read again after a failover switch
+        if (dataSource != null && dataSource.getActiveTarget() != seededTarget) {
+            log.info("Active database changed to {}, reseeding task statistics", dataSource.getActiveTarget());
+            seed();
+        }
+        Map<TaskStatus, Long> result = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            result.put(status, counts.get(status.ordinal()));
+        }
+        return result;
+    }
+
+    /**
+     * Applies a change to the counts, after commit when a transaction is active.
+     *
+     * @param delta the change per status ordinal
+     */
+    private void applyOnCommit(long[] delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+
+    /**
+     * Applies a change to the counts immediately.
+     *
+     * @param delta the change per status ordinal
+     */
+    private void apply(long[] delta) {
+        for (int i = 0; i < delta.length; i++) {
+            if (delta[i] != 0) {
+                counts.addAndGet(i, delta[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.privatbank.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts validation failures of task requests per field, as {@code task.validation.failures}.
+ * Requests rejected by bean validation and tasks of a batch or import that fail it are counted alike.
+ * The field names come from the request classes, so the number of counters stays small.
+ */
+@Component
+public class ValidationMetrics {
+
+    /** Name of the counter */
+    static final String FAILURES = "task.validation.failures";
+
+    /** Counter of each field, registered on its first failure */
+    private final Map<String, Counter> failures = new ConcurrentHashMap<>();
+
+    /** Registry receiving the counters, or null if metrics are not published */
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Publishes the counters to a registry.
+     *
+     * @param meterRegistry the registry receiving the counters
+     */
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Counts a failed validation of a field.
+     *
+     * @param field the name of the field, or of the path to it
+     */
+    public void recordFailure(String field) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter counter = failures.get(field);
+        if (counter == null) {
+            counter = failures.computeIfAbsent(field, name -> Counter.builder(FAILURES)
+                    .tag("field", name)
+                    .description("Task fields rejected by validation")
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.privatbank.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free ring buffer keeping the newest elements.
+ * Writers claim a sequence number and publish into the slot for that number; readers take
+ * snapshots without blocking writers and skip slots that are being overwritten or not yet published.
+ *
+ * @param <T> the type of the elements, which should be immutable
+ */
+public class RingBuffer<T> {
+
+    /** An element together with the sequence number it was added with */
+    private record Slot<T>(long sequence, T value) {
+    }
+
+    /** The slots holding the newest elements */
+    private final AtomicReferenceArray<Slot<T>> slots;
+
+    /** The sequence number of the next element to add */
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /** The number of adds that completed, advanced only after the slot was written */
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    /** The maximum number of elements kept */
+    private final int capacity;
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity the maximum number of elements kept
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Adds an element, replacing the oldest one if the buffer is full.
+     *
+     * @param value the element to add
+     * @return the sequence number assigned to the element
+     */
+    public long add(T value) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = indexOf(sequence);
+        Slot<T> slot = new Slot<>(sequence, value);
+
+        // Publish unless a newer element already took the slot
+        Slot<T> current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.sequence() > sequence) {
+                break;
+            }
+        } while (!slots.compareAndSet(index, current, slot));
+        publishedCount.incrementAndGet();
+        return sequence;
+    }
+
+    /**
+     * Returns the published elements, oldest first.
+     *
+     * @return a snapshot of the buffer
+     */
+    public List<T> snapshot() {
+        return snapshotAfter(-1);
+    }
+
+    /**
+     * Returns the published elements added after the given sequence number, oldest first.
+     *
+     * @param sequence the sequence number after which elements are returned (exclusive)
+     * @return a snapshot of the newer elements still held in the buffer
+     */
+    public List<T> snapshotAfter(long sequence) {
+        long end = nextSequence.get();
+        long start = Math.max(Math.max(0, end - capacity), sequence + 1);
+
+        List<T> values = new ArrayList<>((int) Math.max(0, end - start));
+        for (long current = start; current < end; current++) {
+            Slot<T> slot = slots.get(indexOf(current));
+            if (slot != null && slot.sequence() == current) {
+                values.add(slot.value());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of elements ever added, which changes whenever the content changes.
+     *
+     * @return the number of added elements
+     */
+    public long getAddedCount() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Returns the number of adds that completed. Unlike {@link #getAddedCount()}, it does not count
+     * an element whose add is still in flight, so a snapshot taken after reading it holds every
+     * element it counts that has not been overwritten since. It serves as the version of content
+     * derived from a snapshot.
+     *
+     * @return the number of published elements
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Returns the number of elements currently held.
+     *
+     * @return the size of the buffer
+     */
+    public int size() {
+        return (int) Math.min(nextSequence.get(), capacity);
+    }
+
+    /**
+     * Returns the maximum number of elements kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Maps a sequence number to its slot.
+     *
+     * @param sequence the sequence number
+     * @return the slot index
+     */
+    private int indexOf(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
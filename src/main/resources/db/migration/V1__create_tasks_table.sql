@@ -0,0 +1,7 @@
+-- Tasks table as originally generated by Hibernate
+CREATE TABLE IF NOT EXISTS TASKS (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255)
+);
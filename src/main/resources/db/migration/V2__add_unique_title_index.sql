@@ -0,0 +1,7 @@
+-- Titles stored before the index may repeat. The task with the lowest ID keeps its title; the others
+-- get their ID appended, e.g. "Report (42)", shortened so the title still fits the column.
+UPDATE TASKS SET title = LEFT(title, 230) || ' (' || id || ')'
+WHERE title IS NOT NULL
+  AND id NOT IN (SELECT MIN(id) FROM TASKS GROUP BY title);
+-- Task titles are unique; the index also serves lookups by title
+CREATE UNIQUE INDEX UK_TASKS_TITLE ON TASKS (title);
@@ -0,0 +1,2 @@
+-- Version column for optimistic concurrency control
+ALTER TABLE TASKS ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- Creation time of each task; existing tasks get the migration time
+ALTER TABLE TASKS ADD COLUMN created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+-- Serves "latest N by creation time" with the ID as tie-breaker
+CREATE INDEX IX_TASKS_CREATED_AT ON TASKS (created_at, id);
@@ -0,0 +1,23 @@
+-- Statuses are stored as small integer codes: 0 Pending, 1 In Progress, 2 Completed.
+-- Spellings of the same status are merged, ignoring case, spaces, underscores and hyphens.
+-- Any other value, including NULL, stops the migration before the table is changed: the check table
+-- rejects it with a constraint violation naming the value. Fix those rows and run the migration again.
+CREATE TABLE IF NOT EXISTS TASK_STATUS_CHECK (
+    status VARCHAR(255) NOT NULL,
+    CONSTRAINT CK_TASK_STATUS_KNOWN CHECK (status IN ('PENDING', 'INPROGRESS', 'COMPLETED'))
+);
+INSERT INTO TASK_STATUS_CHECK (status)
+    SELECT DISTINCT UPPER(REPLACE(REPLACE(REPLACE(status, ' ', ''), '_', ''), '-', '')) FROM TASKS;
+DROP TABLE TASK_STATUS_CHECK;
+
+ALTER TABLE TASKS ADD COLUMN status_code SMALLINT;
+UPDATE TASKS SET status_code = CASE UPPER(REPLACE(REPLACE(REPLACE(status, ' ', ''), '_', ''), '-', ''))
+    WHEN 'PENDING' THEN 0
+    WHEN 'INPROGRESS' THEN 1
+    WHEN 'COMPLETED' THEN 2
+END;
+ALTER TABLE TASKS ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE TASKS DROP COLUMN status;
+ALTER TABLE TASKS RENAME COLUMN status_code TO status;
+-- Serves filtering by status in ID order and the per-status counts
+CREATE INDEX IX_TASKS_STATUS ON TASKS (status, id);
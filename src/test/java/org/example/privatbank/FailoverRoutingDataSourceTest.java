@@ -0,0 +1,126 @@
+package org.example.privatbank;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.config.FailoverRoutingDataSource.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailoverRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:failover-primary";
+
+    private FailoverRoutingDataSource dataSource;
+
+    private Connection primaryKeepAlive;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (primaryKeepAlive != null) {
+            primaryKeepAlive.close();
+        }
+    }
+
+    @Test
+    public void testStartsOnBackupWhenPrimaryIsDown() throws Exception {
+        dataSource = new FailoverRoutingDataSource(pool(PRIMARY_URL + ";IFEXISTS=TRUE"),
+                pool("jdbc:h2:mem:failover-backup-1"), 2, 2, 1);
+
+        assertEquals(Target.BACKUP, dataSource.getActiveTarget());
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:failover-backup-1"));
+        }
+    }
+
+    @Test
+    public void testSwitchesBackToPrimaryAfterRecoveryThreshold() throws Exception {
+        dataSource = new FailoverRoutingDataSource(pool(PRIMARY_URL + ";IFEXISTS=TRUE"),
+                pool("jdbc:h2:mem:failover-backup-2"), 2, 2, 1);
+        assertEquals(Target.BACKUP, dataSource.getActiveTarget());
+
+        // Bring the primary database up
+        primaryKeepAlive = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+
+        dataSource.checkHealth();
+        assertEquals(Target.BACKUP, dataSource.getActiveTarget());
+
+        dataSource.checkHealth();
+        assertEquals(Target.PRIMARY, dataSource.getActiveTarget());
+    }
+
+    @Test
+    public void testFailsOverAfterFailureThreshold() throws Exception {
+        primaryKeepAlive = DriverManager.getConnection("jdbc:h2:mem:failover-primary-3", "sa", "");
+        dataSource = new FailoverRoutingDataSource(pool("jdbc:h2:mem:failover-primary-3;IFEXISTS=TRUE"),
+                pool("jdbc:h2:mem:failover-backup-3"), 2, 2, 1);
+        assertEquals(Target.PRIMARY, dataSource.getActiveTarget());
+
+        // Take the primary database down
+        dataSource.getPool(Target.PRIMARY).close();
+        primaryKeepAlive.close();
+
+        dataSource.checkHealth();
+        assertEquals(Target.PRIMARY, dataSource.getActiveTarget());
+
+        dataSource.checkHealth();
+        assertEquals(Target.BACKUP, dataSource.getActiveTarget());
+    }
+
+    @Test
+    public void testStaysOnPrimaryWhilePoolIsExhausted() throws Exception {
+        dataSource = new FailoverRoutingDataSource(pool("jdbc:h2:mem:failover-primary-4;DB_CLOSE_DELAY=-1"),
+                pool("jdbc:h2:mem:failover-backup-4"), 2, 2, 1);
+        assertEquals(Target.PRIMARY, dataSource.getActiveTarget());
+
+        // Hold every pooled connection, as a saturating load would
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThrows(SQLException.class, dataSource::getConnection);
+
+            dataSource.checkHealth();
+            dataSource.checkHealth();
+            dataSource.checkHealth();
+            assertEquals(Target.PRIMARY, dataSource.getActiveTarget());
+        }
+    }
+
+    @Test
+    public void testLimitedConnectionsReturnPermitOnClose() throws Exception {
+        dataSource = new FailoverRoutingDataSource(pool("jdbc:h2:mem:failover-primary-5;DB_CLOSE_DELAY=-1"),
+                pool("jdbc:h2:mem:failover-backup-5"), 2, 2, 1);
+        dataSource.limitConnections(1, 100);
+
+        Connection first = dataSource.getConnection();
+        SQLException timeout = assertThrows(SQLException.class, dataSource::getConnection);
+        assertTrue(timeout.getMessage().contains("timed out after 100ms"));
+
+        // Closing twice returns the permit once
+        first.close();
+        first.close();
+        try (Connection second = dataSource.getConnection()) {
+            assertTrue(second.isValid(1));
+            assertThrows(SQLException.class, dataSource::getConnection);
+        }
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(2000);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
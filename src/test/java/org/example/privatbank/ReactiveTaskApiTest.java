@@ -0,0 +1,178 @@
+package org.example.privatbank;
+
+import org.example.privatbank.config.ReactiveServerConfig;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.TaskRepository;
+import org.example.privatbank.service.TaskCache;
+import org.example.privatbank.service.TaskQuota;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.HttpHandlerConnector;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ReactiveTaskApiTest {
+
+    @Autowired
+    private ReactiveServerConfig reactiveServerConfig;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskQuota taskQuota;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = WebTestClient.bindToServer(new HttpHandlerConnector(reactiveServerConfig.httpHandler())).build();
+        cleanUp();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.findAll().stream()
+                .filter(task -> task.getTitle().startsWith("Reactive "))
+                .forEach(task -> {
+                    taskRepository.deleteById(task.getId());
+                    taskQuota.release(1);
+                });
+        taskCache.invalidateAll();
+    }
+
+    @Test
+    public void testCreateTask() {
+        Task created = createTask("Reactive create");
+
+        assertNotNull(created.getId());
+        assertNotNull(created.getCreatedAt());
+        assertEquals(0L, created.getVersion());
+        // Visible to the JPA side as well
+        Task stored = taskRepository.findById(created.getId()).orElseThrow();
+        assertEquals("Reactive create", stored.getTitle());
+        assertEquals(TaskStatus.PENDING, stored.getStatus());
+    }
+
+    @Test
+    public void testCreateTaskDuplicateAndInvalid() {
+        createTask("Reactive duplicate");
+        long used = taskQuota.getUsed();
+
+        client.post().uri("/api/reactive/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskDTO("Reactive duplicate"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Task with the same title already exists");
+        // The reservation of the rejected task is given back
+        assertEquals(used, taskQuota.getUsed());
+
+        client.post().uri("/api/reactive/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskDTO(""))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Title is mandatory");
+    }
+
+    @Test
+    public void testStreamTasks() {
+        Task first = createTask("Reactive first");
+        Task second = createTask("Reactive second");
+
+        Flux<Task> tasks = client.get().uri("/api/reactive/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .filter(task -> task.getTitle().startsWith("Reactive "));
+
+        List<Task> streamed = tasks.collectList().block(Duration.ofSeconds(10));
+        assertNotNull(streamed);
+        assertEquals(List.of(first.getId(), second.getId()), streamed.stream().map(Task::getId).toList());
+
+        List<Task> array = client.get().uri("/api/reactive/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(array);
+        assertTrue(array.stream().anyMatch(task -> task.getId().equals(second.getId())));
+    }
+
+    @Test
+    public void testUpdateTaskStatus() {
+        Task created = createTask("Reactive status");
+
+        client.put().uri("/api/reactive/tasks/{id}/status?status=Completed", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Reactive status")
+                .jsonPath("$.status").isEqualTo("Completed")
+                .jsonPath("$.version").isEqualTo(1);
+
+        client.put().uri("/api/reactive/tasks/{id}/status?status=Completed", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Task not found");
+    }
+
+    @Test
+    public void testDeleteTask() {
+        Task created = createTask("Reactive delete");
+        long used = taskQuota.getUsed();
+
+        client.delete().uri("/api/reactive/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+        assertFalse(taskRepository.existsById(created.getId()));
+        assertEquals(used - 1, taskQuota.getUsed());
+
+        client.delete().uri("/api/reactive/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("{\"message\": \"Task not found\"}");
+    }
+
+    private Task createTask(String title) {
+        Task task = client.post().uri("/api/reactive/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskDTO(title))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(task);
+        return task;
+    }
+
+    private static TaskDTO taskDTO(String title) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle(title);
+        taskDTO.setDescription(title.isEmpty() ? null : "Created through the reactive API");
+        taskDTO.setStatus("Pending");
+        return taskDTO;
+    }
+}
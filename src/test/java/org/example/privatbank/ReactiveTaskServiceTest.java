@@ -0,0 +1,88 @@
+package org.example.privatbank;
+
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.repository.ReactiveTaskRepository;
+import org.example.privatbank.service.ReactiveTaskService;
+import org.example.privatbank.service.TaskCache;
+import org.example.privatbank.service.TaskQuota;
+import org.example.privatbank.service.TaskStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskQuota taskQuota = new TaskQuota(10);
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskStats taskStats;
+
+    @InjectMocks
+    private ReactiveTaskService reactiveTaskService;
+
+    private TaskDTO taskDTO;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        taskQuota.seed(2);
+
+        taskDTO = new TaskDTO();
+        taskDTO.setTitle("Reactive Task");
+        taskDTO.setStatus("Pending");
+    }
+
+    @Test
+    public void testCreateTaskKeepsReservation() {
+        when(reactiveTaskRepository.insert(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(1L);
+            return Mono.just(task);
+        });
+
+        assertEquals(1L, reactiveTaskService.createTask(taskDTO).block().getId());
+        assertEquals(3, taskQuota.getUsed());
+    }
+
+    @Test
+    public void testFailedCreateReleasesReservation() {
+        when(reactiveTaskRepository.insert(any(Task.class))).thenReturn(Mono.error(new IllegalStateException("down")));
+
+        assertThrows(IllegalStateException.class, () -> reactiveTaskService.createTask(taskDTO).block());
+        assertEquals(2, taskQuota.getUsed());
+    }
+
+    @Test
+    public void testCancelledCreateReleasesReservation() {
+        when(reactiveTaskRepository.insert(any(Task.class))).thenReturn(Mono.never());
+
+        // The client goes away while the insert is still running
+        Disposable subscription = reactiveTaskService.createTask(taskDTO).subscribe();
+        assertEquals(3, taskQuota.getUsed());
+        subscription.dispose();
+
+        assertEquals(2, taskQuota.getUsed());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
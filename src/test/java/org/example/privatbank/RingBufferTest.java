@@ -0,0 +1,117 @@
+package org.example.privatbank;
+
+import org.example.privatbank.util.RingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void testSnapshotKeepsInsertionOrder() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.add("a");
+        buffer.add("b");
+
+        assertEquals(List.of("a", "b"), buffer.snapshot());
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void testOldestElementsAreOverwritten() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(List.of(7, 8, 9), buffer.snapshot());
+        assertEquals(3, buffer.size());
+        assertEquals(10, buffer.getAddedCount());
+    }
+
+    @Test
+    public void testSnapshotAfterSequence() {
+        RingBuffer<String> buffer = new RingBuffer<>(4);
+        long first = buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+
+        assertEquals(List.of("b", "c"), buffer.snapshotAfter(first));
+        assertEquals(List.of(), buffer.snapshotAfter(first + 2));
+    }
+
+    @Test
+    public void testConcurrentWritersKeepNewestElements() throws Exception {
+        int capacity = 64;
+        int writers = 8;
+        int perWriter = 10_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(capacity);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    buffer.add(base + i);
+                    // Snapshots taken during writes never exceed the capacity
+                    assertTrue(buffer.snapshot().size() <= capacity);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (Future<Object> result : results) {
+            result.get();
+        }
+
+        List<Integer> snapshot = buffer.snapshot();
+        assertEquals(capacity, snapshot.size());
+        Set<Integer> distinct = new HashSet<>(snapshot);
+        assertEquals(capacity, distinct.size());
+        assertEquals((long) writers * perWriter, buffer.getAddedCount());
+    }
+
+    @Test
+    public void testSnapshotHoldsEveryPublishedElement() throws Exception {
+        int writers = 4;
+        int perWriter = 5_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(writers * perWriter);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    buffer.add(base + i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Nothing is overwritten, so a snapshot holds at least what was published before it was taken
+        while (!executor.isTerminated()) {
+            long published = buffer.getPublishedCount();
+            assertTrue(buffer.snapshot().size() >= published);
+        }
+        assertEquals((long) writers * perWriter, buffer.getPublishedCount());
+    }
+}
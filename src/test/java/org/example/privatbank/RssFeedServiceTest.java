@@ -1,19 +1,40 @@
 package org.example.privatbank;
 
 import com.sun.syndication.feed.rss.Channel;
+import org.example.privatbank.dto.SerializedFeedDTO;
+import org.example.privatbank.model.FeedEntry;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.TaskRepository;
 import org.example.privatbank.service.RssFeedService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 public class RssFeedServiceTest {
 
     private RssFeedService rssFeedService;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private RssFeedService storedFeedService = new RssFeedService(3);
+
     @BeforeEach
     public void setup() {
+        MockitoAnnotations.openMocks(this);
         rssFeedService = new RssFeedService();
     }
 
@@ -23,7 +44,7 @@ public class RssFeedServiceTest {
         Task task = new Task();
         task.setTitle("Test Task");
         task.setDescription("Task Description");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
 
         // Add the task to the RSS feed service
         rssFeedService.addTaskToFeed(task);
@@ -40,4 +61,83 @@ public class RssFeedServiceTest {
         assertEquals("Test Task", rssItem.getTitle());
         assertEquals("Task Description", rssItem.getDescription().getValue());
     }
+
+    @Test
+    public void testFeedKeepsOnlyNewestTasks() {
+        RssFeedService boundedService = new RssFeedService(2);
+        for (int i = 1; i <= 5; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description " + i);
+            boundedService.addTaskToFeed(task);
+        }
+
+        Channel channel = boundedService.generateFeed();
+
+        assertEquals(2, channel.getItems().size());
+        assertEquals("Task 4", ((com.sun.syndication.feed.rss.Item) channel.getItems().get(0)).getTitle());
+        assertEquals("Task 5", ((com.sun.syndication.feed.rss.Item) channel.getItems().get(1)).getTitle());
+    }
+
+    @Test
+    public void testSerializedFeedIsCachedUntilNewEntry() throws Exception {
+        SerializedFeedDTO first = rssFeedService.getSerializedFeed();
+        assertSame(first, rssFeedService.getSerializedFeed());
+
+        Task task = new Task();
+        task.setTitle("New Task");
+        task.setDescription("New Description");
+        rssFeedService.addTaskToFeed(task);
+
+        SerializedFeedDTO second = rssFeedService.getSerializedFeed();
+        assertNotSame(first, second);
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertTrue(new String(second.getXml(), StandardCharsets.UTF_8).contains("New Task"));
+        assertSame(second, rssFeedService.getSerializedFeed());
+    }
+
+    @Test
+    public void testFeedFollowsCommittedChangesAndDatabase() throws Exception {
+        when(taskRepository.findLatestFeedEntries(Limit.of(3))).thenReturn(List.of(entry(2), entry(1)));
+        storedFeedService.refresh();
+        assertEquals(List.of("Task 1", "Task 2"), titles());
+
+        // A task created by another instance appears with the next reload
+        when(taskRepository.findLatestFeedEntries(Limit.of(3))).thenReturn(List.of(entry(3), entry(2), entry(1)));
+        storedFeedService.refresh();
+        assertEquals(List.of("Task 1", "Task 2", "Task 3"), titles());
+        String etag = storedFeedService.getSerializedFeed().getEtag();
+
+        // A committed create is added once, even if the reload already read it
+        storedFeedService.onTaskEvent(TaskEvent.created(task(3)));
+        assertEquals(etag, storedFeedService.getSerializedFeed().getEtag());
+        storedFeedService.onTaskEvent(TaskEvent.created(task(4)));
+        assertEquals(List.of("Task 2", "Task 3", "Task 4"), titles());
+
+        // Deleting a task in the feed reloads it; deleting one that is not shown does not
+        when(taskRepository.findLatestFeedEntries(Limit.of(3))).thenReturn(List.of(entry(4), entry(2), entry(1)));
+        storedFeedService.onTaskEvent(TaskEvent.deleted(List.of(3L), null, 1));
+        assertEquals(List.of("Task 1", "Task 2", "Task 4"), titles());
+        storedFeedService.onTaskEvent(TaskEvent.deleted(List.of(99L), null, 1));
+        verify(taskRepository, times(3)).findLatestFeedEntries(Limit.of(3));
+    }
+
+    private List<String> titles() {
+        return storedFeedService.generateFeed().getItems().stream()
+                .map(item -> ((com.sun.syndication.feed.rss.Item) item).getTitle())
+                .toList();
+    }
+
+    private static FeedEntry entry(long id) {
+        return new FeedEntry(id, "Task " + id, "Description " + id, Instant.ofEpochSecond(id));
+    }
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDescription("Description " + id);
+        task.setCreatedAt(Instant.ofEpochSecond(id));
+        return task;
+    }
 }
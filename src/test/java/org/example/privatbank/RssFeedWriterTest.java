@@ -0,0 +1,65 @@
+package org.example.privatbank;
+
+import com.sun.syndication.io.WireFeedOutput;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.service.RssFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RssFeedWriterTest {
+
+    private RssFeedService rssFeedService;
+
+    @BeforeEach
+    public void setup() {
+        rssFeedService = new RssFeedService();
+    }
+
+    @Test
+    public void testEmptyFeedMatchesRome() throws Exception {
+        assertArrayEquals(romeOutput(), streamedOutput());
+    }
+
+    @Test
+    public void testFeedMatchesRome() throws Exception {
+        addTask(null, "Plain task", "Plain description");
+        addTask(42L, "  Fish & <Chips> \"quoted\" 'single'  ", "line1\r\nline2\n\tindented ]]> &amp;");
+        addTask(43L, "Unicode é ☃ 😀", null);
+        addTask(44L, "Blank description", "   ");
+        addTask(null, "Empty description", "");
+
+        byte[] expected = romeOutput();
+        assertArrayEquals(expected, streamedOutput(),
+                () -> "Expected:\n" + new String(expected, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSerializedFeedMatchesRome() throws Exception {
+        addTask(1L, "Cached <task>", "Cached & serialized");
+
+        assertArrayEquals(romeOutput(), rssFeedService.getSerializedFeed().getXml());
+    }
+
+    private void addTask(Long id, String title, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        rssFeedService.addTaskToFeed(task);
+    }
+
+    private byte[] romeOutput() throws Exception {
+        return new WireFeedOutput().outputString(rssFeedService.generateFeed()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] streamedOutput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rssFeedService.writeFeed(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.privatbank;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.service.TaskCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskCacheTest {
+
+    private TaskCache taskCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        taskCache = new TaskCache(100, 3);
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache.bindMetrics(meterRegistry);
+    }
+
+    @Test
+    public void testTaskServedFromMemoryUntilChanged() {
+        AtomicInteger loads = new AtomicInteger();
+        Task task = newTask(1L, "One");
+
+        assertEquals(Optional.of(task), taskCache.getTask(1L, () -> load(loads, task)));
+        assertEquals(Optional.of(task), taskCache.getTask(1L, () -> load(loads, task)));
+        assertEquals(1, loads.get());
+
+        // A change of another task keeps the entry, a change of this task drops it
+        taskCache.onTaskEvent(TaskEvent.deleted(List.of(2L), null, 1));
+        taskCache.getTask(1L, () -> load(loads, task));
+        assertEquals(1, loads.get());
+        taskCache.onTaskEvent(TaskEvent.statusChanged(task));
+        taskCache.getTask(1L, () -> load(loads, task));
+        assertEquals(2, loads.get());
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", TaskCache.TASKS_CACHE)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", TaskCache.TASKS_CACHE)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testMissingTaskIsCachedUntilCreated() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(taskCache.getTask(5L, () -> load(loads, null)).isEmpty());
+        assertTrue(taskCache.getTask(5L, () -> load(loads, null)).isEmpty());
+        assertEquals(1, loads.get());
+
+        Task created = newTask(5L, "Five");
+        taskCache.onTaskEvent(TaskEvent.created(created));
+        assertEquals(Optional.of(created), taskCache.getTask(5L, () -> load(loads, created)));
+    }
+
+    @Test
+    public void testReturnedTaskChangesDoNotReachCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Task loaded = newTask(1L, "One");
+
+        Task returned = taskCache.getTask(1L, () -> load(loads, loaded)).orElseThrow();
+        assertNotSame(loaded, returned);
+        returned.setTitle("Changed");
+        returned.setStatus(TaskStatus.COMPLETED);
+        loaded.setTitle("Changed by the persistence context");
+
+        Task reread = taskCache.getTask(1L, () -> load(loads, loaded)).orElseThrow();
+        assertEquals(1, loads.get());
+        assertNotSame(returned, reread);
+        assertEquals("One", reread.getTitle());
+        assertEquals(TaskStatus.PENDING, reread.getStatus());
+
+        List<Task> all = List.of(newTask(2L, "Two"));
+        taskCache.getAllTasks(() -> all).get(0).setTitle("Changed");
+        assertEquals("Two", taskCache.getAllTasks(() -> all).get(0).getTitle());
+        assertEquals("Two", taskCache.getAllTasksIfPresent().get(0).getTitle());
+    }
+
+    @Test
+    public void testListInvalidatedByEveryChange() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Task> all = List.of(newTask(2L, "Two"), newTask(1L, "One"));
+
+        List<Task> first = taskCache.getAllTasks(() -> loadList(loads, all));
+        assertEquals(List.of(1L, 2L), first.stream().map(Task::getId).toList());
+        assertEquals(first, taskCache.getAllTasks(() -> loadList(loads, all)));
+        assertEquals(first, taskCache.getAllTasksIfPresent());
+        assertEquals(1, loads.get());
+
+        // Bulk changes by status drop the tasks by ID as well
+        taskCache.getTask(1L, () -> Optional.of(all.get(1)));
+        taskCache.onTaskEvent(TaskEvent.deleted(null, TaskStatus.COMPLETED, 0));
+        assertNull(taskCache.getAllTasksIfPresent());
+        AtomicInteger taskLoads = new AtomicInteger();
+        taskCache.getTask(1L, () -> load(taskLoads, all.get(1)));
+        assertEquals(1, taskLoads.get());
+    }
+
+    @Test
+    public void testLargeListIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Task> all = List.of(newTask(1L, "One"), newTask(2L, "Two"), newTask(3L, "Three"), newTask(4L, "Four"));
+
+        assertEquals(4, taskCache.getAllTasks(() -> loadList(loads, all)).size());
+        assertNull(taskCache.getAllTasksIfPresent());
+    }
+
+    @Test
+    public void testLoadOverlappingChangeIsDiscarded() {
+        Task stale = newTask(1L, "Stale");
+
+        // The change commits while the old row is being read
+        Optional<Task> loaded = taskCache.getTask(1L, () -> {
+            taskCache.onTaskEvent(TaskEvent.updated(stale));
+            return Optional.of(stale);
+        });
+        assertEquals(Optional.of(stale), loaded);
+
+        AtomicInteger loads = new AtomicInteger();
+        Task fresh = newTask(1L, "Fresh");
+        assertEquals(Optional.of(fresh), taskCache.getTask(1L, () -> load(loads, fresh)));
+        assertEquals(1, loads.get());
+
+        taskCache.getAllTasks(() -> {
+            taskCache.onTaskEvent(TaskEvent.created(newTask(2L, "Two")));
+            return List.of(stale);
+        });
+        assertNull(taskCache.getAllTasksIfPresent());
+    }
+
+    private static Optional<Task> load(AtomicInteger loads, Task task) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(task);
+    }
+
+    private static List<Task> loadList(AtomicInteger loads, List<Task> tasks) {
+        loads.incrementAndGet();
+        return tasks;
+    }
+
+    private static Task newTask(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
@@ -1,7 +1,15 @@
 package org.example.privatbank;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.privatbank.dto.BulkStatusUpdateDTO;
+import org.example.privatbank.dto.TaskBatchResultDTO;
 import org.example.privatbank.dto.TaskDTO;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.repository.TaskRepository;
+import org.example.privatbank.service.TaskEventHub;
 import org.example.privatbank.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,13 +18,33 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +60,15 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     private Task task;
@@ -44,7 +81,7 @@ public class TaskControllerTest {
         task.setId(1L);
         task.setTitle("Test Task");
         task.setDescription("This is a test task");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
 
         taskDTO = new TaskDTO();
         taskDTO.setTitle("Test Task");
@@ -66,6 +103,22 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("Pending"));
     }
 
+    @Test
+    public void testCreateTasksBatch() throws Exception {
+        when(taskService.createTasks(anyList())).thenReturn(Arrays.asList(
+                TaskBatchResultDTO.created(0, 1L),
+                TaskBatchResultDTO.rejected(1, "Task with the same title already exists")));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(taskDTO, taskDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].message").value("Task with the same title already exists"));
+    }
+
     @Test
     public void testCreateTaskDuplicate() throws Exception {
         // Simulate task with duplicate title
@@ -101,6 +154,19 @@ public class TaskControllerTest {
                 .andExpect(content().string("Task not found"));
     }
 
+    @Test
+    public void testUpdateTaskFieldsVersionConflict() throws Exception {
+        // Simulate an update based on an outdated version
+        when(taskService.updateTaskFields(eq(1L), any(TaskDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Task was modified concurrently"));
+    }
+
     @Test
     public void testGetAllTasks() throws Exception {
         // Mock the service to return a list with the 'task'
@@ -111,6 +177,349 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Test Task"));
     }
 
+    @Test
+    public void testGetTasksByStatus() throws Exception {
+        when(taskService.getTasksByStatus("in_progress")).thenReturn(Arrays.asList(task));
+
+        mockMvc.perform(get("/api/tasks").param("status", "in_progress"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    public void testGetTasksByInvalidStatus() throws Exception {
+        when(taskService.getTasksByStatus("Archived"))
+                .thenThrow(new IllegalArgumentException(TaskStatus.INVALID_MESSAGE));
+
+        mockMvc.perform(get("/api/tasks").param("status", "Archived"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(TaskStatus.INVALID_MESSAGE));
+    }
+
+    @Test
+    public void testSearchTasks() throws Exception {
+        when(taskService.searchTasks("test ta", 20)).thenReturn(Arrays.asList(task));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "test ta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    public void testSearchTasksWithoutQuery() throws Exception {
+        when(taskService.searchTasks(null, 20)).thenThrow(new RuntimeException("Search query is mandatory"));
+
+        mockMvc.perform(get("/api/tasks/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Search query is mandatory"));
+    }
+
+    @Test
+    public void testGetTaskStats() throws Exception {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        counts.put(TaskStatus.PENDING, 3L);
+        counts.put(TaskStatus.IN_PROGRESS, 0L);
+        counts.put(TaskStatus.COMPLETED, 2L);
+        when(taskService.getStatusCounts()).thenReturn(counts);
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.byStatus.Pending").value(3))
+                .andExpect(jsonPath("$.byStatus['In Progress']").value(0))
+                .andExpect(jsonPath("$.byStatus.Completed").value(2));
+    }
+
+    @Test
+    public void testCreateTaskInSmile() throws Exception {
+        when(taskService.createTask(any(TaskDTO.class))).thenReturn(task);
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+        byte[] response = mockMvc.perform(post("/api/tasks")
+                        .contentType("application/x-jackson-smile")
+                        .accept("application/x-jackson-smile")
+                        .content(smileMapper.writeValueAsBytes(taskDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Test Task", smileMapper.readTree(response).get("title").asText());
+        verify(taskService).createTask(argThat(created -> "Pending".equals(created.getStatus())));
+    }
+
+    @Test
+    public void testGetAllTasksInCbor() throws Exception {
+        when(taskService.getDataVersion()).thenReturn(7L);
+        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task));
+
+        byte[] response = mockMvc.perform(get("/api/tasks").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tasks = new ObjectMapper(new CBORFactory()).readTree(response);
+        assertEquals("Test Task", tasks.get(0).get("title").asText());
+        assertEquals("Pending", tasks.get(0).get("status").asText());
+
+        // JSON stays the default
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testGetAllTasksNotModified() throws Exception {
+        when(taskService.getDataVersion()).thenReturn(7L);
+        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task));
+
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Nothing changed: answered from the data version alone
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(taskService, times(1)).getAllTasks();
+
+        // A committed change gives the list a new ETag
+        when(taskService.getDataVersion()).thenReturn(8L);
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    public void testGetTaskWithVersionEtag() throws Exception {
+        task.setVersion(3L);
+        when(taskService.findTask(1L)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.title").value("Test Task"));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetTaskEtagPerRepresentation() throws Exception {
+        task.setVersion(3L);
+        when(taskService.findTask(1L)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/tasks/1").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("ETag", "\"3-cbor\""))
+                .andExpect(header().string("Vary", containsString("Accept")));
+        mockMvc.perform(get("/api/tasks/1").accept("application/x-jackson-smile"))
+                .andExpect(header().string("ETag", "\"3-smile\""));
+        mockMvc.perform(get("/api/tasks/1").header("Accept", "*/*;q=0.5, application/cbor"))
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("ETag", "\"3-cbor\""));
+
+        // The JSON validator does not stand for the CBOR bytes, and the other way round
+        mockMvc.perform(get("/api/tasks/1").accept("application/cbor").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/1").accept("application/cbor").header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks/1").accept("application/x-jackson-smile").header("If-None-Match", "W/\"3-smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-smile\""));
+    }
+
+    @Test
+    public void testGetTaskNotFound() throws Exception {
+        when(taskService.findTask(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("{\"message\": \"Task not found\"}"));
+    }
+
+    @Test
+    public void testUpdateTaskStatusIfMatch() throws Exception {
+        task.setVersion(3L);
+        when(taskService.updateTaskStatus(1L, "Completed", 2L)).thenReturn(task);
+        when(taskService.updateTaskStatus(1L, "Completed", 1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(put("/api/tasks/1/status").param("status", "Completed").header("If-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(put("/api/tasks/1/status").param("status", "Completed").header("If-Match", "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        // The ETag of any representation names the same version
+        mockMvc.perform(put("/api/tasks/1/status").param("status", "Completed").header("If-Match", "\"2-cbor\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testIfMatchAnyNeedsExistingTask() throws Exception {
+        when(taskService.taskExists(1L)).thenReturn(true);
+        when(taskService.taskExists(2L)).thenReturn(false);
+        when(taskService.updateTaskStatus(1L, "Completed", null)).thenReturn(task);
+        when(taskService.updateTaskFields(eq(1L), any(TaskDTO.class))).thenReturn(task);
+
+        mockMvc.perform(put("/api/tasks/1/status").param("status", "Completed").header("If-Match", "*"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isOk());
+
+        // No current representation exists, so * does not match and nothing is written
+        mockMvc.perform(put("/api/tasks/2/status").param("status", "Completed").header("If-Match", "*"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/tasks/2")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, never()).updateTaskStatus(eq(2L), any(), any());
+        verify(taskService, never()).updateTaskFields(eq(2L), any(TaskDTO.class));
+    }
+
+    @Test
+    public void testUpdateTaskFieldsIfMatch() throws Exception {
+        when(taskService.updateTaskFields(eq(1L), argThat(dto -> Long.valueOf(1L).equals(dto.getVersion()))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("Task does not match the given ETag"));
+
+        // Weak or foreign ETags never match, without touching the task
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "W/\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, times(1)).updateTaskFields(eq(1L), any(TaskDTO.class));
+    }
+
+    @Test
+    public void testGetTasksPageWithNextLink() throws Exception {
+        // Mock a full page so that a next link is expected
+        when(taskService.getTasksPage(0L, 1, null)).thenReturn(Arrays.asList(task));
+
+        mockMvc.perform(get("/api/tasks").param("after", "0").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().string("Link", containsString("after=1")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    @Test
+    public void testGetTasksLastPageWithoutNextLink() throws Exception {
+        when(taskService.getTasksPage(1L, 10, null)).thenReturn(Arrays.asList(task));
+
+        mockMvc.perform(get("/api/tasks").param("after", "1").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    public void testGetTasksPageCapsLimit() throws Exception {
+        // A limit above the maximum of 1000 is served as a full page of 1000 tasks
+        List<Task> page = Collections.nCopies(1000, task);
+        when(taskService.getTasksPage(0L, 1000, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks").param("after", "0").param("limit", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", containsString("limit=1000")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+        verify(taskService, times(1)).getTasksPage(0L, 1000, null);
+    }
+
+    @Test
+    public void testGetTasksPageRejectsLimitBelowOne() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Limit must be at least 1"));
+        verify(taskService, never()).getTasksPage(any(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamAllTasks() throws Exception {
+        // Feed two tasks to the consumer passed by the controller
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            consumer.accept(task);
+            consumer.accept(task);
+            return null;
+        }).when(taskService).streamAllTasks(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test Task", objectMapper.readValue(lines[1], Task.class).getTitle());
+    }
+
+    @Test
+    public void testExportTasks() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            consumer.accept(task);
+            consumer.accept(task);
+            return null;
+        }).when(taskService).streamAllTasks(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The records carry no ID or version, so they can be imported elsewhere
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(("{\"title\":\"Test Task\",\"description\":\"This is a test task\","
+                        + "\"status\":\"Pending\"}\n").repeat(2)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportTasks() throws Exception {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> List.of(
+                TaskBatchResultDTO.created(0, 1L),
+                TaskBatchResultDTO.rejected(1, "Title is mandatory")));
+
+        String body = "{\"title\":\"Test Task\",\"status\":\"Pending\"}\n"
+                + "[]\n"
+                + "{\"title\":\"\",\"status\":\"Pending\"}\n";
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid task JSON"))
+                .andExpect(jsonPath("$.errors[1].line").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Title is mandatory"));
+    }
+
     @Test
     public void testUpdateTaskStatus() throws Exception {
         // Simulate that the task exists and status is updated successfully
@@ -122,6 +531,20 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("Pending"));  // Adjust based on actual status in the returned task
     }
 
+    @Test
+    public void testUpdateTasksStatus() throws Exception {
+        BulkStatusUpdateDTO update = new BulkStatusUpdateDTO();
+        update.setFromStatus("Pending");
+        update.setStatus("Completed");
+        when(taskService.updateTasksStatus(any(BulkStatusUpdateDTO.class))).thenReturn(5);
+
+        mockMvc.perform(put("/api/tasks/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+    }
+
     @Test
     public void testUpdateTaskFields() throws Exception {
         // Simulate that the task exists and is updated successfully
@@ -155,6 +578,127 @@ public class TaskControllerTest {
                 .andExpect(content().string("{\"message\": \"Task not found\"}"));
     }
 
+    @Test
+    public void testDeleteTasksByStatus() throws Exception {
+        when(taskService.deleteTasks(null, "Completed")).thenReturn(3);
+
+        mockMvc.perform(delete("/api/tasks").param("status", "Completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    public void testDeleteTasksByIds() throws Exception {
+        when(taskService.deleteTasks(Arrays.asList(1L, 2L), null)).thenReturn(2);
+
+        mockMvc.perform(delete("/api/tasks").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    public void testGetRssFeedWithValidators() throws Exception {
+        mockMvc.perform(get("/api/tasks/rss"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_XML))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string(containsString("<rss")));
+    }
+
+    @Test
+    public void testGetRssFeedNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/rss"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/rss").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    public void testGetRssFeedGzip() throws Exception {
+        String plainEtag = mockMvc.perform(get("/api/tasks/rss"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/rss").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        // The gzip representation has its own ETag and decompresses to the feed XML
+        assertNotEquals(plainEtag, result.getResponse().getHeader("ETag"));
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertTrue(new String(gzip.readAllBytes(), StandardCharsets.UTF_8).contains("<rss"));
+        }
+    }
+
+    @Test
+    public void testGetRssFeedSinceTask() throws Exception {
+        List<Task> saved = taskRepository.saveAll(List.of(
+                newTask("Feed Task 1"), newTask("Feed Task 2"), newTask("Feed Task 3")));
+        try {
+            String since = saved.get(0).getId().toString();
+
+            mockMvc.perform(get("/api/tasks/rss").param("since", since))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(content().string(not(containsString("Feed Task 1"))))
+                    .andExpect(content().string(containsString("Feed Task 2")))
+                    .andExpect(content().string(containsString("Feed Task 3")))
+                    .andExpect(content().string(containsString(
+                            "<guid isPermaLink=\"false\">urn:privatbank:task:" + saved.get(2).getId() + "</guid>")));
+
+            mockMvc.perform(get("/api/tasks/rss").param("since", since).param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("Feed Task 2")))
+                    .andExpect(content().string(not(containsString("Feed Task 3"))));
+
+            // The last GUID of one page is the cursor of the next
+            String page = mockMvc.perform(get("/api/tasks/rss").param("since", since).param("limit", "1"))
+                    .andReturn().getResponse().getContentAsString();
+            String guid = page.substring(page.lastIndexOf("<guid isPermaLink=\"false\">") + 26,
+                    page.lastIndexOf("</guid>"));
+            assertEquals("urn:privatbank:task:" + saved.get(1).getId(), guid);
+            mockMvc.perform(get("/api/tasks/rss").param("since", guid))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(not(containsString("Feed Task 2"))))
+                    .andExpect(content().string(containsString("Feed Task 3")));
+
+            mockMvc.perform(get("/api/tasks/rss").param("since", "2000-01-01T00:00:00Z"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("Feed Task 1")));
+        } finally {
+            taskRepository.deleteAll(saved);
+        }
+    }
+
+    @Test
+    public void testGetRssFeedInvalidSince() throws Exception {
+        mockMvc.perform(get("/api/tasks/rss").param("since", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Invalid since")));
+    }
+
+    @Test
+    public void testStreamEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        taskEventHub.publish(TaskEvent.created(task));
+
+        // Events are sent by the hub's sender threads
+        for (int attempt = 0; attempt < 100
+                && !result.getResponse().getContentAsString().contains("\"title\":\"Test Task\""); attempt++) {
+            Thread.sleep(20);
+        }
+        assertTrue(result.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertTrue(result.getResponse().getContentAsString().contains("event:created"));
+        assertTrue(result.getResponse().getContentAsString().contains("\"title\":\"Test Task\""));
+    }
+
     @Test
     public void testCreateTaskValidationError() throws Exception {
         TaskDTO invalidTaskDTO = new TaskDTO();
@@ -169,4 +713,40 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Title is mandatory"))
                 .andExpect(jsonPath("$.status").value("Status is mandatory"));
     }
+
+    @Test
+    public void testMetricsRecorded() throws Exception {
+        double failuresBefore = validationFailures("title");
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"\",\"description\":\"d\",\"status\":\"Pending\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/rss"))
+                .andExpect(status().isOk());
+
+        // Validation failures are counted per field
+        assertEquals(failuresBefore + 1, validationFailures("title"));
+
+        // Requests are timed per endpoint, the feed per kind, and the pools and statements are published
+        assertTrue(meterRegistry.find("http.server.requests").tag("uri", "/api/tasks").timer().count() > 0);
+        assertTrue(meterRegistry.find("rss.feed.serialization").tag("feed", "full").timer() != null);
+        assertTrue(meterRegistry.find("rss.feed.items").gauge() != null);
+        assertTrue(meterRegistry.find("sql.statements").tag("kind", "statement").timer() != null);
+        assertTrue(meterRegistry.find("r2dbc.pool.max.allocated").tag("name", "h2-r2dbc-pool").gauge() != null);
+        assertTrue(meterRegistry.find("hikaricp.connections").gauges().size() > 0);
+    }
+
+    private double validationFailures(String field) {
+        Counter counter = meterRegistry.find("task.validation.failures").tag("field", field).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private Task newTask(String title) {
+        Task newTask = new Task();
+        newTask.setTitle(title);
+        newTask.setDescription("Description");
+        newTask.setStatus(TaskStatus.PENDING);
+        return newTask;
+    }
 }
@@ -0,0 +1,166 @@
+package org.example.privatbank;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.service.TaskEventHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskEventHubTest {
+
+    private TaskEventHub taskEventHub;
+
+    @BeforeEach
+    public void setup() {
+        taskEventHub = new TaskEventHub(new ObjectMapper().findAndRegisterModules(), 3, 2, 60000, 60000, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskEventHub.close();
+    }
+
+    @Test
+    public void testSubscriberReceivesNewEvents() throws Exception {
+        taskEventHub.publish(TaskEvent.created(newTask(1L, "Before")));
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventHub.subscribe(null, emitter);
+
+        taskEventHub.publish(TaskEvent.created(newTask(2L, "After")));
+
+        awaitTrue(() -> emitter.events.size() == 1);
+        String event = emitter.events.get(0);
+        assertTrue(event.contains("event:created"));
+        assertTrue(event.contains("\"title\":\"After\""));
+        assertFalse(event.contains("Before"));
+    }
+
+    @Test
+    public void testResumeReplaysMissedEvents() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        taskEventHub.subscribe(null, first);
+        taskEventHub.publish(TaskEvent.created(newTask(1L, "One")));
+        awaitTrue(() -> first.events.size() == 1);
+        String lastEventId = idOf(first.events.get(0));
+
+        taskEventHub.publish(TaskEvent.deleted(List.of(1L), null, 1));
+        taskEventHub.publish(TaskEvent.statusChanged(null, TaskStatus.PENDING, TaskStatus.COMPLETED, 2));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        taskEventHub.subscribe(lastEventId, resumed);
+
+        awaitTrue(() -> resumed.events.size() == 2);
+        assertTrue(resumed.events.get(0).contains("event:deleted"));
+        assertTrue(resumed.events.get(1).contains("event:status_changed"));
+        assertTrue(resumed.events.get(1).contains("\"fromStatus\":\"Pending\""));
+    }
+
+    @Test
+    public void testResumeBeyondReplayLogSendsReset() throws Exception {
+        taskEventHub.publish(TaskEvent.created(newTask(1L, "One")));
+        RecordingEmitter first = new RecordingEmitter();
+        taskEventHub.subscribe(null, first);
+        taskEventHub.publish(TaskEvent.created(newTask(2L, "Two")));
+        awaitTrue(() -> first.events.size() == 1);
+        String lastEventId = idOf(first.events.get(0));
+
+        // Push the seen event out of the replay log of three events
+        for (long id = 3; id <= 6; id++) {
+            taskEventHub.publish(TaskEvent.created(newTask(id, "Task " + id)));
+        }
+
+        RecordingEmitter stale = new RecordingEmitter();
+        taskEventHub.subscribe(lastEventId, stale);
+        RecordingEmitter unknown = new RecordingEmitter();
+        taskEventHub.subscribe("previous-run-42", unknown);
+
+        awaitTrue(() -> stale.events.size() == 1 && unknown.events.size() == 1);
+        assertTrue(stale.events.get(0).contains("event:reset"));
+        assertTrue(unknown.events.get(0).contains("event:reset"));
+    }
+
+    @Test
+    public void testSlowSubscriberIsEvicted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        taskEventHub.subscribe(null, slow);
+        taskEventHub.subscribe(null, fast);
+
+        // The slow subscriber blocks on its first event while its buffer of two overflows
+        for (int id = 1; id <= 5; id++) {
+            taskEventHub.publish(TaskEvent.created(newTask((long) id, "Task " + id)));
+            int sent = id;
+            awaitTrue(() -> fast.events.size() == sent);
+        }
+
+        assertEquals(1, taskEventHub.getSubscriberCount());
+        release.countDown();
+    }
+
+    private static Task newTask(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+
+    private static String idOf(String event) {
+        Matcher matcher = Pattern.compile("id:(\\S+)").matcher(event);
+        assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter recording the text of every event sent, optionally blocking until released.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+    }
+}
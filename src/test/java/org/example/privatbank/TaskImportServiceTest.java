@@ -0,0 +1,103 @@
+package org.example.privatbank;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.privatbank.dto.TaskBatchResultDTO;
+import org.example.privatbank.dto.TaskDTO;
+import org.example.privatbank.dto.TaskImportResultDTO;
+import org.example.privatbank.service.TaskImportService;
+import org.example.privatbank.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskImportServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskImportService taskImportService;
+
+    private final List<List<String>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        taskImportService = new TaskImportService(taskService, new ObjectMapper(), 2, 3);
+
+        // Create every task except those titled "Existing"
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            List<TaskDTO> chunk = invocation.getArgument(0);
+            chunks.add(chunk.stream().map(TaskDTO::getTitle).toList());
+            List<TaskBatchResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add("Existing".equals(chunk.get(i).getTitle())
+                        ? TaskBatchResultDTO.rejected(i, "Task with the same title already exists")
+                        : TaskBatchResultDTO.created(i, 100L + i));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    public void testImportInChunksWithLineErrors() throws IOException {
+        String input = line("One") + "\r\n"
+                + "\n"
+                + "{not json\n"
+                + line("Existing") + "\n"
+                + line("Two") + "\n"
+                + line("Three");
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(input));
+
+        assertEquals(List.of(List.of("One", "Existing"), List.of("Two", "Three")), chunks);
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(new TaskImportResultDTO.LineError(3, "Invalid task JSON"),
+                new TaskImportResultDTO.LineError(4, "Task with the same title already exists")), result.getErrors());
+    }
+
+    @Test
+    public void testOverlongLineIsRejectedWithoutParsing() throws IOException {
+        String description = "x".repeat(40_000);
+        String input = "{\"title\":\"Long\",\"description\":\"" + description + "\",\"status\":\"Pending\"}\n" + line("One");
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(input));
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new TaskImportResultDTO.LineError(1, "Line exceeds 16384 characters")), result.getErrors());
+        assertEquals(List.of(List.of("One")), chunks);
+    }
+
+    @Test
+    public void testRolledBackChunkRejectsAllItsLines() throws IOException {
+        when(taskService.createTasks(anyList())).thenThrow(new RuntimeException("Task with the same title already exists"));
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(
+                line("A") + "\n" + line("B") + "\n" + line("C") + "\n" + line("D") + "\n" + line("E")));
+
+        assertEquals(0, result.getImported());
+        assertEquals(5, result.getRejected());
+        // Only the first rejections are listed
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream().map(TaskImportResultDTO.LineError::getLine).toList());
+        verify(taskService, times(3)).createTasks(anyList());
+    }
+
+    private static String line(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Imported\",\"status\":\"Pending\"}";
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.privatbank;
+
+import org.example.privatbank.config.FailoverRoutingDataSource;
+import org.example.privatbank.repository.TaskRepository;
+import org.example.privatbank.service.TaskQuota;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class TaskQuotaTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private FailoverRoutingDataSource dataSource;
+
+    @InjectMocks
+    private TaskQuota taskQuota = new TaskQuota(3);
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        taskQuota.seed(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testReseededAfterFailover() {
+        when(dataSource.getActiveTarget()).thenReturn(FailoverRoutingDataSource.Target.PRIMARY);
+        when(taskRepository.count()).thenReturn(2L);
+        taskQuota.seed();
+        assertFalse(taskQuota.tryReserve(2));
+
+        // The backup holds fewer tasks, so its count applies once it is active
+        when(dataSource.getActiveTarget()).thenReturn(FailoverRoutingDataSource.Target.BACKUP);
+        when(taskRepository.count()).thenReturn(0L);
+        assertEquals(0, taskQuota.getUsed());
+        assertTrue(taskQuota.tryReserve(3));
+    }
+
+    @Test
+    public void testReserveUpToLimit() {
+        assertTrue(taskQuota.tryReserve(2));
+        assertFalse(taskQuota.tryReserve(1));
+        assertEquals(3, taskQuota.getUsed());
+    }
+
+    @Test
+    public void testReservationReleasedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(taskQuota.tryReserve(2));
+        assertEquals(3, taskQuota.getUsed());
+
+        // Simulate the transaction rolling back
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(1, taskQuota.getUsed());
+    }
+
+    @Test
+    public void testReleaseOnCommitWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        taskQuota.releaseOnCommit(1);
+        assertEquals(1, taskQuota.getUsed());
+
+        // Simulate the transaction committing
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, taskQuota.getUsed());
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverExceedLimit() throws Exception {
+        TaskQuota quota = new TaskQuota(100);
+        quota.seed(0);
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (quota.tryReserve(1)) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, granted.get());
+        assertEquals(100, quota.getUsed());
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.privatbank;
 
+import org.example.privatbank.model.FeedEntry;
+import org.example.privatbank.model.StatusCount;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskStatus;
 import org.example.privatbank.repository.TaskRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +11,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,7 +39,7 @@ public class TaskRepositoryTest {
         Task task = new Task();
         task.setTitle("Unique Task");
         task.setDescription("Description");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
 
         taskRepository.save(task);
 
@@ -47,7 +55,7 @@ public class TaskRepositoryTest {
         Task task = new Task();
         task.setTitle("Test Task");
         task.setDescription("Description");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
 
         Task savedTask = taskRepository.save(task);
 
@@ -56,4 +64,142 @@ public class TaskRepositoryTest {
         assertNotNull(foundTask);
         assertEquals("Test Task", foundTask.getTitle());
     }
+
+    @Test
+    public void testFindByIdGreaterThanOrderByIdAsc() {
+        Task first = taskRepository.save(newTask("Page Task 1"));
+        Task second = taskRepository.save(newTask("Page Task 2"));
+        Task third = taskRepository.save(newTask("Page Task 3"));
+
+        List<Task> firstPage = taskRepository.findByIdGreaterThanOrderByIdAsc(first.getId() - 1, Limit.of(2));
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.stream().map(Task::getId).toList());
+
+        List<Task> secondPage = taskRepository.findByIdGreaterThanOrderByIdAsc(second.getId(), Limit.of(2));
+        assertEquals(List.of(third.getId()), secondPage.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void testDuplicateTitleIsRejectedByUniqueIndex() {
+        taskRepository.saveAndFlush(newTask("Duplicate Task"));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> taskRepository.saveAndFlush(newTask("Duplicate Task")));
+        assertTrue(exception.getMessage().toUpperCase().contains("UK_TASKS_TITLE"));
+    }
+
+    @Test
+    public void testFindExistingTitlesAndBatchInsert() {
+        List<Task> saved = taskRepository.saveAll(List.of(newTask("Batch Task 1"), newTask("Batch Task 2")));
+        taskRepository.flush();
+
+        assertTrue(saved.stream().allMatch(task -> task.getId() != null));
+        assertEquals(Set.of("Batch Task 2"),
+                taskRepository.findExistingTitles(List.of("Batch Task 2", "Batch Task 3")));
+    }
+
+    @Test
+    public void testUpdateStatusWithSingleStatement() {
+        Task first = taskRepository.save(newTask("Status Task 1"));
+        Task second = taskRepository.save(newTask("Status Task 2"));
+
+        // The statement returns the previous status of each updated task by ID; missing IDs return nothing
+        assertEquals(Map.of(first.getId(), TaskStatus.PENDING),
+                taskRepository.updateStatusReturningPrevious(List.of(first.getId(), -1L), TaskStatus.IN_PROGRESS));
+        assertEquals(1, taskRepository.updateStatusByStatus(TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED));
+        assertEquals(Map.of(first.getId(), TaskStatus.COMPLETED, second.getId(), TaskStatus.PENDING), taskRepository
+                .updateStatusReturningPrevious(List.of(first.getId(), second.getId()), TaskStatus.PENDING));
+
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(first.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testUpdateStatusChecksVersionAndReturnsPreviousTask() {
+        Task task = taskRepository.save(newTask("Versioned Status Task"));
+        long version = task.getVersion();
+
+        assertTrue(taskRepository.updateFields(task.getId(), null, null, TaskStatus.COMPLETED, version + 1).isEmpty());
+        Task previous = taskRepository.updateFields(task.getId(), null, null, TaskStatus.COMPLETED, version).orElseThrow();
+        assertEquals(task.getId(), previous.getId());
+        assertEquals("Versioned Status Task", previous.getTitle());
+        assertEquals(TaskStatus.PENDING, previous.getStatus());
+        assertEquals(version, previous.getVersion());
+        assertNotNull(previous.getCreatedAt());
+
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, updated.getStatus());
+        assertEquals(version + 1, updated.getVersion());
+    }
+
+    @Test
+    public void testUpdateFieldsWritesOnlySuppliedFieldsAndChecksVersion() {
+        Task task = taskRepository.save(newTask("Partial Task"));
+        long version = task.getVersion();
+
+        // Only the status is supplied, the other columns keep their values
+        assertTrue(taskRepository.updateFields(task.getId(), null, null, TaskStatus.COMPLETED, version).isPresent());
+
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Partial Task", updated.getTitle());
+        assertEquals("Description", updated.getDescription());
+        assertEquals(TaskStatus.COMPLETED, updated.getStatus());
+        assertEquals(version + 1, updated.getVersion());
+
+        // An update based on the old version is rejected
+        assertTrue(taskRepository.updateFields(task.getId(), null, null, TaskStatus.PENDING, version).isEmpty());
+    }
+
+    @Test
+    public void testFindAndCountByStatus() {
+        Task first = taskRepository.save(newTask("Status Task 1"));
+        taskRepository.save(newTask("Status Task 2"));
+        Task third = taskRepository.save(newTask("Status Task 3"));
+        taskRepository.updateStatusReturningPrevious(List.of(first.getId(), third.getId()), TaskStatus.COMPLETED);
+
+        List<Task> completed = taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                TaskStatus.COMPLETED, Long.MIN_VALUE, Limit.unlimited());
+        assertEquals(List.of(first.getId(), third.getId()), completed.stream().map(Task::getId).toList());
+        assertEquals(List.of(third.getId()), taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                TaskStatus.COMPLETED, first.getId(), Limit.of(5)).stream().map(Task::getId).toList());
+
+        assertEquals(Set.of(new StatusCount(TaskStatus.PENDING, 1), new StatusCount(TaskStatus.COMPLETED, 2)),
+                Set.copyOf(taskRepository.countByStatus()));
+    }
+
+    @Test
+    public void testDeleteWithSingleStatement() {
+        Task first = taskRepository.save(newTask("Delete Task 1"));
+        Task second = taskRepository.save(newTask("Delete Task 2"));
+        Task third = taskRepository.save(newTask("Delete Task 3"));
+        taskRepository.updateStatusReturningPrevious(List.of(third.getId()), TaskStatus.COMPLETED);
+
+        // The statement returns the status of each deleted task by ID
+        assertEquals(Map.of(first.getId(), TaskStatus.PENDING),
+                taskRepository.deleteReturningStatuses(List.of(first.getId())));
+        assertEquals(Map.of(), taskRepository.deleteReturningStatuses(List.of(first.getId())));
+        assertEquals(1, taskRepository.deleteTasksByStatus(TaskStatus.COMPLETED));
+        assertEquals(Map.of(second.getId(), TaskStatus.PENDING),
+                taskRepository.deleteReturningStatuses(List.of(second.getId(), third.getId())));
+
+        assertFalse(taskRepository.existsById(second.getId()));
+    }
+
+    @Test
+    public void testFindLatestFeedEntriesByCreationTime() {
+        List<Task> saved = taskRepository.saveAll(List.of(newTask("Old Task"), newTask("Middle Task"), newTask("New Task")));
+        assertNotNull(saved.get(0).getCreatedAt());
+
+        List<FeedEntry> latest = taskRepository.findLatestFeedEntries(Limit.of(2));
+
+        assertEquals(List.of("New Task", "Middle Task"), latest.stream().map(FeedEntry::getTitle).toList());
+        assertEquals(saved.get(2).getId(), latest.get(0).getId());
+        assertNotNull(latest.get(0).getPublishedAt());
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description");
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
 }
@@ -0,0 +1,84 @@
+package org.example.privatbank;
+
+import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.service.TaskSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new TaskSearchIndex();
+        index.onTaskEvent(TaskEvent.created(newTask(1L, "Quarterly report", "Collect the numbers", TaskStatus.PENDING)));
+        index.onTaskEvent(TaskEvent.created(newTask(2L, "Call the bank", "Ask about the quarterly report", TaskStatus.PENDING)));
+        index.onTaskEvent(TaskEvent.created(newTask(3L, "Reporting tool", "Fix the export", TaskStatus.COMPLETED)));
+    }
+
+    @Test
+    public void testTitleMatchesRankAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), index.search("Quarterly REPORT", 10));
+        assertEquals(List.of(1L), index.search("quarterly report", 1));
+        // All words must match
+        assertEquals(List.of(2L), index.search("report bank", 10));
+        assertEquals(List.of(), index.search("report missing", 10));
+        assertEquals(List.of(), index.search(" ,. ", 10));
+    }
+
+    @Test
+    public void testPrefixMatchesRankBelowExactMatches() {
+        // An exact title match ranks first, a prefix match in a title above an exact match in a description
+        assertEquals(List.of(1L, 3L, 2L), index.search("report", 10));
+        assertEquals(List.of(3L, 1L, 2L), index.search("repo", 10));
+        // Single characters only match whole words
+        assertEquals(List.of(), index.search("r", 10));
+    }
+
+    @Test
+    public void testIndexFollowsChanges() {
+        index.onTaskEvent(TaskEvent.updated(newTask(1L, "Annual summary", "Collect the numbers", TaskStatus.PENDING)));
+        assertEquals(List.of(2L), index.search("quarterly", 10));
+        assertEquals(List.of(1L), index.search("annual", 10));
+
+        index.onTaskEvent(TaskEvent.deleted(List.of(2L), null, 1));
+        assertEquals(List.of(), index.search("quarterly", 10));
+
+        // Bulk changes by status are tracked through the status of each task
+        index.onTaskEvent(TaskEvent.statusChanged(null, TaskStatus.PENDING, TaskStatus.COMPLETED, 1));
+        index.onTaskEvent(TaskEvent.deleted(null, TaskStatus.COMPLETED, 2));
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.search("annual", 10));
+    }
+
+    @Test
+    public void testSearchAfterCompaction() {
+        for (long id = 10; id < 3010; id++) {
+            index.onTaskEvent(TaskEvent.created(newTask(id, "Bulk task " + id, null, TaskStatus.IN_PROGRESS)));
+        }
+        for (long id = 10; id < 3000; id++) {
+            index.onTaskEvent(TaskEvent.deleted(List.of(id), null, 1));
+        }
+
+        assertEquals(13, index.size());
+        assertEquals(10, index.search("bulk task", 100).size());
+        assertEquals(List.of(3005L), index.search("3005", 10));
+        assertEquals(List.of(1L, 2L), index.search("quarterly report", 10));
+    }
+
+    private static Task newTask(Long id, String title, String description, TaskStatus status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        return task;
+    }
+}
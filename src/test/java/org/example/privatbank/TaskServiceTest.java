@@ -1,16 +1,33 @@
 package org.example.privatbank;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.privatbank.dto.BulkStatusUpdateDTO;
+import org.example.privatbank.dto.TaskBatchResultDTO;
 import org.example.privatbank.dto.TaskDTO;
 import org.example.privatbank.model.Task;
+import org.example.privatbank.model.TaskEvent;
+import org.example.privatbank.model.TaskStatus;
 import org.example.privatbank.repository.TaskRepository;
-import org.example.privatbank.service.RssFeedService;
+import org.example.privatbank.service.TaskCache;
+import org.example.privatbank.service.TaskQuota;
+import org.example.privatbank.service.TaskSearchIndex;
 import org.example.privatbank.service.TaskService;
+import org.example.privatbank.service.TaskStats;
+import org.example.privatbank.service.ValidationMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -18,7 +35,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -29,7 +50,28 @@ public class TaskServiceTest {
     private TaskRepository taskRepository;
 
     @Mock
-    private RssFeedService rssFeedService;
+    private TaskQuota taskQuota;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(100, 100);
+
+    @Mock
+    private TaskStats taskStats;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ValidationMetrics validationMetrics;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private TaskService taskService;
@@ -50,82 +92,169 @@ public class TaskServiceTest {
         task.setId(1L);
         task.setTitle("Test Task");
         task.setDescription("This is a test task");
-        task.setStatus("Pending");
+        task.setStatus(TaskStatus.PENDING);
+        task.setVersion(0L);
     }
 
     @Test
     public void testCreateTaskSuccess() {
-        when(taskRepository.count()).thenReturn(50L);
-        when(taskRepository.existsByTitle("Test Task")).thenReturn(false);
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskQuota.tryReserve(1)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
         Task createdTask = taskService.createTask(taskDTO);
 
         assertNotNull(createdTask);
         assertEquals("Test Task", createdTask.getTitle());
-        verify(rssFeedService, times(1)).addTaskToFeed(createdTask);
+        verify(eventPublisher, times(1)).publishEvent(TaskEvent.created(createdTask));
     }
 
     @Test
     public void testCreateTaskDuplicateTitle() {
-        when(taskRepository.count()).thenReturn(50L);
-        when(taskRepository.existsByTitle("Test Task")).thenReturn(true);
+        when(taskQuota.tryReserve(1)).thenReturn(true);
+        // Simulate the unique title index rejecting the insert
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("Unique index violation", null, "PUBLIC.UK_TASKS_TITLE")));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             taskService.createTask(taskDTO);
         });
 
         assertEquals("Task with the same title already exists", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testCreateTaskOtherIntegrityViolationIsRethrown() {
+        when(taskQuota.tryReserve(1)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("Not null violation", null, "PUBLIC.OTHER_CONSTRAINT")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(taskDTO));
     }
 
     @Test
     public void testCreateTaskLimitReached() {
-        when(taskRepository.count()).thenReturn(100L);
+        when(taskQuota.tryReserve(1)).thenReturn(false);
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             taskService.createTask(taskDTO);
         });
 
         assertEquals("Task limit reached. Cannot create more tasks.", exception.getMessage());
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
     public void testUpdateTaskStatus() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.updateFields(1L, null, null, TaskStatus.COMPLETED, null)).thenReturn(Optional.of(task));
 
-        Task updatedTask = taskService.updateTaskStatus(1L, "Completed");
+        // Status values are accepted regardless of case and separators
+        Task updatedTask = taskService.updateTaskStatus(1L, "completed");
 
-        assertEquals("Completed", updatedTask.getStatus());
+        assertEquals(TaskStatus.COMPLETED, updatedTask.getStatus());
+        assertEquals(1L, updatedTask.getVersion());
+        // The task is updated directly, not saved or read back
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskStats, times(1)).recordChanged(List.of(TaskStatus.PENDING), TaskStatus.COMPLETED);
+    }
+
+    @Test
+    public void testUpdateTaskStatusInvalidStatus() {
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> taskService.updateTaskStatus(1L, "Archived"));
+
+        assertEquals(TaskStatus.INVALID_MESSAGE, exception.getMessage());
+        verify(taskRepository, never()).updateFields(anyLong(), any(), any(), any(), any());
     }
 
     @Test
     public void testUpdateTaskStatusTaskNotFound() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.updateFields(1L, null, null, TaskStatus.COMPLETED, null)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             taskService.updateTaskStatus(1L, "Completed");
         });
 
         assertEquals("Task not found", exception.getMessage());
+        verify(taskStats, never()).recordChanged(anyCollection(), any());
+    }
+
+    @Test
+    public void testUpdateTaskStatusVersionConflict() {
+        when(taskRepository.updateFields(1L, null, null, TaskStatus.COMPLETED, 3L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.updateTaskStatus(1L, "Completed", 3L));
+        verify(taskStats, never()).recordChanged(anyCollection(), any());
+    }
+
+    @Test
+    public void testUpdateTasksStatusByIds() {
+        BulkStatusUpdateDTO update = new BulkStatusUpdateDTO();
+        update.setIds(List.of(1L, 2L, 3L, 4L));
+        update.setStatus("Completed");
+        Map<Long, TaskStatus> previous = new LinkedHashMap<>();
+        previous.put(1L, TaskStatus.PENDING);
+        previous.put(2L, TaskStatus.PENDING);
+        previous.put(3L, TaskStatus.IN_PROGRESS);
+        when(taskRepository.updateStatusReturningPrevious(List.of(1L, 2L, 3L, 4L), TaskStatus.COMPLETED))
+                .thenReturn(previous);
+
+        // Task 4 does not exist, so it is neither counted nor announced
+        assertEquals(3, taskService.updateTasksStatus(update));
+        verify(taskStats, times(1)).recordChanged(
+                List.of(TaskStatus.PENDING, TaskStatus.PENDING, TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED);
+        verify(eventPublisher, times(1)).publishEvent(
+                TaskEvent.statusChanged(List.of(1L, 2L, 3L), null, TaskStatus.COMPLETED, 3));
+    }
+
+    @Test
+    public void testUpdateTasksStatusByStatus() {
+        BulkStatusUpdateDTO update = new BulkStatusUpdateDTO();
+        update.setFromStatus("Pending");
+        update.setStatus("In Progress");
+        when(taskRepository.updateStatusByStatus(TaskStatus.PENDING, TaskStatus.IN_PROGRESS)).thenReturn(7);
+
+        assertEquals(7, taskService.updateTasksStatus(update));
+        verify(taskStats, times(1)).recordChanged(
+                argThat(previous -> previous.size() == 7 && previous.stream().allMatch(TaskStatus.PENDING::equals)),
+                eq(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    public void testUpdateTasksStatusNeedsExactlyOneSelection() {
+        BulkStatusUpdateDTO update = new BulkStatusUpdateDTO();
+        update.setIds(List.of(1L));
+        update.setFromStatus("Pending");
+        update.setStatus("Completed");
+
+        Exception exception = assertThrows(RuntimeException.class, () -> taskService.updateTasksStatus(update));
+
+        assertEquals("Either ids or fromStatus must be given", exception.getMessage());
     }
 
     @Test
     public void testDeleteTaskSuccess() {
         // Simulate task exists
-        when(taskRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(taskRepository).deleteById(1L);
+        when(taskRepository.deleteReturningStatuses(List.of(1L))).thenReturn(Map.of(1L, TaskStatus.PENDING));
 
         taskService.deleteTask(1L);
 
-        // Verify that the delete method was called
-        verify(taskRepository, times(1)).deleteById(1L);
+        // Verify that a single delete was issued and the quota and statistics updated
+        verify(taskRepository, times(1)).deleteReturningStatuses(List.of(1L));
+        verify(taskRepository, never()).existsById(1L);
+        verify(taskQuota, times(1)).releaseOnCommit(1);
+        verify(taskStats, times(1)).recordChanged(List.of(TaskStatus.PENDING), null);
     }
 
     @Test
     public void testDeleteTaskNotFound() {
         // Simulate task not found
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.deleteReturningStatuses(List.of(1L))).thenReturn(Map.of());
 
         // Expect RuntimeException to be thrown
         Exception exception = assertThrows(RuntimeException.class, () -> {
@@ -134,12 +263,37 @@ public class TaskServiceTest {
 
         // Verify the exception message
         assertEquals("Task not found", exception.getMessage());
+        verify(taskQuota, never()).releaseOnCommit(anyLong());
+        verify(taskStats, never()).recordChanged(anyCollection(), any());
+    }
+
+    @Test
+    public void testDeleteTasksByStatus() {
+        when(taskRepository.deleteTasksByStatus(TaskStatus.COMPLETED)).thenReturn(4);
+
+        assertEquals(4, taskService.deleteTasks(null, "Completed"));
+        verify(taskQuota, times(1)).releaseOnCommit(4);
+        verify(eventPublisher, times(1)).publishEvent(TaskEvent.deleted(null, TaskStatus.COMPLETED, 4));
+    }
+
+    @Test
+    public void testDeleteTasksByIds() {
+        Map<Long, TaskStatus> previous = new LinkedHashMap<>();
+        previous.put(1L, TaskStatus.PENDING);
+        previous.put(2L, TaskStatus.COMPLETED);
+        when(taskRepository.deleteReturningStatuses(List.of(1L, 2L, 3L))).thenReturn(previous);
+
+        // Task 3 does not exist, so it is neither counted nor announced
+        assertEquals(2, taskService.deleteTasks(List.of(1L, 2L, 3L), null));
+        verify(taskQuota, times(1)).releaseOnCommit(2);
+        verify(taskStats, times(1)).recordChanged(List.of(TaskStatus.PENDING, TaskStatus.COMPLETED), null);
+        verify(eventPublisher, times(1)).publishEvent(TaskEvent.deleted(List.of(1L, 2L), null, 2));
     }
 
     @Test
     public void testUpdateTaskFields() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.updateFields(1L, "Updated Task", "Updated Description", TaskStatus.IN_PROGRESS, null))
+                .thenReturn(Optional.of(task));
 
         TaskDTO updateDTO = new TaskDTO();
         updateDTO.setTitle("Updated Task");
@@ -150,6 +304,138 @@ public class TaskServiceTest {
 
         assertEquals("Updated Task", updatedTask.getTitle());
         assertEquals("Updated Description", updatedTask.getDescription());
-        assertEquals("In Progress", updatedTask.getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, updatedTask.getStatus());
+        assertEquals(1L, updatedTask.getVersion());
+        // The task is updated directly, not loaded, saved or read back
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskStats, times(1)).recordChanged(List.of(TaskStatus.PENDING), TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    public void testUpdateTaskFieldsVersionConflict() {
+        taskDTO.setVersion(3L);
+        when(taskRepository.updateFields(1L, "Test Task", "This is a test task", TaskStatus.PENDING, 3L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTaskFields(1L, taskDTO));
+    }
+
+    @Test
+    public void testUpdateTaskFieldsTaskNotFound() {
+        when(taskRepository.updateFields(1L, "Test Task", "This is a test task", TaskStatus.PENDING, null)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> taskService.updateTaskFields(1L, taskDTO));
+
+        assertEquals("Task not found", exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateTasksBatch() {
+        TaskDTO invalid = newTaskDTO("", "Pending");
+        TaskDTO existing = newTaskDTO("Existing Task", "Pending");
+        TaskDTO repeated = newTaskDTO("Test Task", "Completed");
+
+        when(taskRepository.findExistingTitles(anyCollection())).thenReturn(Set.of("Existing Task"));
+        when(taskQuota.tryReserve(1)).thenReturn(true);
+        when(taskRepository.saveAll(anyList())).thenReturn(List.of(task));
+
+        List<TaskBatchResultDTO> results = taskService.createTasks(List.of(taskDTO, invalid, existing, repeated));
+
+        assertEquals(4, results.size());
+        assertEquals(TaskBatchResultDTO.created(0, 1L), results.get(0));
+        assertEquals(TaskBatchResultDTO.rejected(1, "Title is mandatory"), results.get(1));
+        assertEquals(TaskBatchResultDTO.rejected(2, "Task with the same title already exists"), results.get(2));
+        assertEquals(TaskBatchResultDTO.rejected(3, "Task with the same title already exists"), results.get(3));
+
+        // Only the valid, new task is inserted and announced
+        verify(taskRepository, times(1)).saveAll(argThat(tasks -> ((List<Task>) tasks).size() == 1));
+        verify(eventPublisher, times(1)).publishEvent(TaskEvent.created(task));
+    }
+
+    @Test
+    public void testCreateTasksBatchLimitReached() {
+        when(taskRepository.findExistingTitles(anyCollection())).thenReturn(Set.of());
+        when(taskQuota.tryReserve(2)).thenReturn(false);
+
+        List<TaskBatchResultDTO> results = taskService.createTasks(
+                List.of(taskDTO, newTaskDTO("Another Task", "Pending")));
+
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == TaskBatchResultDTO.Status.REJECTED));
+        assertEquals("Task limit reached. Cannot create more tasks.", results.get(1).getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testGetAllTasksServedFromCacheUntilChanged() {
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Second Task");
+        when(taskRepository.findAll()).thenReturn(List.of(second, task));
+
+        assertEquals(List.of(task, second), taskService.getAllTasks());
+        assertEquals(List.of(task, second), taskService.getAllTasks());
+        // Pages are cut from the cached list
+        assertEquals(List.of(second), taskService.getTasksPage(1L, 10, null));
+        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+
+        taskCache.onTaskEvent(TaskEvent.deleted(List.of(2L), null, 1));
+        taskService.getAllTasks();
+        verify(taskRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testSearchTasksKeepsRanking() {
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Second Task");
+        when(taskSearchIndex.search("task", 10)).thenReturn(List.of(2L, 3L, 1L));
+        // Task 3 was deleted after the search
+        when(taskRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(task, second));
+
+        assertEquals(List.of(second, task), taskService.searchTasks("task", 10));
+        assertThrows(RuntimeException.class, () -> taskService.searchTasks(" ", 10));
+    }
+
+    @Test
+    public void testGetTasksByStatusFiltersCachedList() {
+        Task completed = new Task();
+        completed.setId(2L);
+        completed.setTitle("Completed Task");
+        completed.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.findAll()).thenReturn(List.of(task, completed));
+        taskService.getAllTasks();
+
+        assertEquals(List.of(completed), taskService.getTasksByStatus("COMPLETED"));
+        assertEquals(List.of(task), taskService.getTasksPage(null, 10, "pending"));
+        verify(taskRepository, never()).findByStatusAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any());
+    }
+
+    @Test
+    public void testGetTasksByStatusUsesIndexWithoutCachedList() {
+        when(taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(TaskStatus.IN_PROGRESS, 5L, Limit.of(10)))
+                .thenReturn(List.of(task));
+
+        assertEquals(List.of(task), taskService.getTasksPage(5L, 10, "In Progress"));
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    public void testTaskExistsServedFromCache() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertTrue(taskService.taskExists(1L));
+        assertTrue(taskService.taskExists(1L));
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    private TaskDTO newTaskDTO(String title, String status) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle(title);
+        dto.setDescription("Description");
+        dto.setStatus(status);
+        return dto;
     }
 }
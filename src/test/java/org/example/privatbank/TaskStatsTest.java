@@ -0,0 +1,68 @@
+package org.example.privatbank;
+
+import org.example.privatbank.model.StatusCount;
+import org.example.privatbank.model.TaskStatus;
+import org.example.privatbank.service.TaskStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStatsTest {
+
+    private TaskStats taskStats;
+
+    @BeforeEach
+    public void setup() {
+        taskStats = new TaskStats();
+        taskStats.seed(List.of(new StatusCount(TaskStatus.PENDING, 2), new StatusCount(TaskStatus.COMPLETED, 1)));
+    }
+
+    @Test
+    public void testCountsFollowChanges() {
+        assertEquals(Map.of(TaskStatus.PENDING, 2L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 1L),
+                taskStats.getCounts());
+
+        taskStats.recordCreated(List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS));
+        taskStats.recordChanged(List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED);
+        taskStats.recordChanged(List.of(TaskStatus.COMPLETED), null);
+
+        assertEquals(Map.of(TaskStatus.PENDING, 2L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 2L),
+                taskStats.getCounts());
+    }
+
+    @Test
+    public void testChangesAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskStats.recordChanged(List.of(TaskStatus.PENDING), TaskStatus.IN_PROGRESS);
+            assertEquals(0L, taskStats.getCounts().get(TaskStatus.IN_PROGRESS));
+
+            // Applied once the transaction commits
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1L, taskStats.getCounts().get(TaskStatus.PENDING));
+        assertEquals(1L, taskStats.getCounts().get(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    public void testStatusParsing() {
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.of("In Progress"));
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.of("in_progress"));
+        assertEquals(TaskStatus.COMPLETED, TaskStatus.of(" completed "));
+        assertNull(TaskStatus.of(null));
+        assertEquals(TaskStatus.COMPLETED, TaskStatus.ofCode(TaskStatus.COMPLETED.getCode()));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> TaskStatus.of("Done"));
+        assertEquals(TaskStatus.INVALID_MESSAGE, exception.getMessage());
+    }
+}